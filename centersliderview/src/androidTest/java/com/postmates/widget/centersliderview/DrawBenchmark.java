@@ -0,0 +1,161 @@
+package com.postmates.widget.centersliderview;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.util.Log;
+import android.view.MotionEvent;
+import android.view.View;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+
+import androidx.test.InstrumentationRegistry;
+import androidx.test.runner.AndroidJUnit4;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Rough draw benchmarks for the slider, drawing into a bitmap backed canvas.  Results are
+ * logged under {@link #TAG}; assertions are deliberately loose so they only catch gross
+ * regressions, except where runs are interleaved and their medians compared.
+ */
+@RunWith(AndroidJUnit4.class)
+public class DrawBenchmark {
+
+    static final String TAG = "DrawBenchmark";
+
+    static final int WIDTH = 1080;
+    static final int HEIGHT = 400;
+    static final int WARMUP_FRAMES = 200;
+    static final int FRAMES = 2000;
+    static final int RUNS = 5;
+
+    CenterSliderView mSliderView;
+    Canvas mCanvas;
+
+    @Before
+    public void setUp() {
+        Context context = InstrumentationRegistry.getTargetContext();
+        mSliderView = new CenterSliderView(context);
+        mSliderView.setSliderInfo(new CenterSliderView.SliderInfo.Builder()
+                .setBounds(0, 120)
+                .setIntervalsToEdge(20)
+                .setLargeTickInterval(5)
+                .setStartValue(60)
+                .setValueTextOverride(60, "Predicted")
+                .build());
+        mSliderView.measure(
+                View.MeasureSpec.makeMeasureSpec(WIDTH, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(HEIGHT, View.MeasureSpec.EXACTLY));
+        mSliderView.layout(0, 0, WIDTH, HEIGHT);
+        mCanvas = new Canvas(Bitmap.createBitmap(WIDTH, HEIGHT, Bitmap.Config.ARGB_8888));
+    }
+
+    /**
+     * @return median ns per frame
+     */
+    long measure() {
+        for (int i = 0; i < WARMUP_FRAMES; i++) {
+            mSliderView.draw(mCanvas);
+        }
+
+        long[] samples = new long[FRAMES];
+        for (int i = 0; i < FRAMES; i++) {
+            long start = System.nanoTime();
+            mSliderView.draw(mCanvas);
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return samples[FRAMES / 2];
+    }
+
+    /**
+     * Only measures the extra virtual call a delegating renderer adds per tick; the inline tick
+     * drawing that predates TickRenderer no longer exists to compare against.
+     */
+    @Test
+    public void delegatingRenderer_addsLittleOverhead() {
+        mSliderView.setTickRenderer(null);
+        long builtIn = measure();
+
+        mSliderView.setTickRenderer(new TickRenderer() {
+            @Override
+            public void drawTick(Canvas canvas, float x, float baselineY, int value, boolean isLarge,
+                                 int alpha, Scratch scratch) {
+                DefaultTickRenderer.INSTANCE.drawTick(canvas, x, baselineY, value, isLarge, alpha, scratch);
+            }
+        });
+        long delegating = measure();
+
+        Log.i(TAG, "median ns/frame built-in=" + builtIn + " delegating=" + delegating);
+        // medians, so a few slow frames don't decide it; 25% leaves room for noise only
+        assertTrue("delegating " + delegating + "ns vs built-in " + builtIn + "ns",
+                delegating < builtIn + builtIn / 4);
+    }
+
+    /**
+     * Alternates the modes between runs, so drift in clocks or thermals hits both alike, and
+     * compares the median of each mode's per-run medians.
+     */
+    @Test
+    public void alphaFade_noSlowerThanShaderFade() {
+        long[] shaderRuns = new long[RUNS];
+        long[] alphaRuns = new long[RUNS];
+        for (int run = 0; run < RUNS; run++) {
+            mSliderView.setFadeMode(CenterSliderView.FadeMode.SHADER);
+            shaderRuns[run] = measure();
+            mSliderView.setFadeMode(CenterSliderView.FadeMode.ALPHA);
+            alphaRuns[run] = measure();
+        }
+        Arrays.sort(shaderRuns);
+        Arrays.sort(alphaRuns);
+        long shader = shaderRuns[RUNS / 2];
+        long alpha = alphaRuns[RUNS / 2];
+
+        Log.i(TAG, "median ns/frame shader fade=" + shader + " alpha fade=" + alpha);
+        assertTrue("alpha " + alpha + "ns vs shader " + shader + "ns", alpha <= shader);
+    }
+
+    /**
+     * Drag the dragger from the center to the edge and back over a couple of seconds.
+     */
+    GestureTrace dragTrace() {
+        GestureTrace.Recorder recorder = new GestureTrace.Recorder();
+        recorder.begin(mSliderView.mSliderInfo, mSliderView.getCurrentValue(), WIDTH, HEIGHT);
+        float center = WIDTH / 2f;
+        float y = mSliderView.mDraggerBounds.centerY();
+        long time = 0;
+        recorder.addEvent(time, MotionEvent.ACTION_DOWN, center, y);
+        for (int i = 0; i < 120; i++) {
+            time += CenterSliderView.MS_PER_FRAME;
+            float fraction = i < 60 ? i / 60f : (120 - i) / 60f;
+            recorder.addEvent(time, MotionEvent.ACTION_MOVE, center + fraction * center, y);
+            recorder.addFrame(time);
+        }
+        recorder.addEvent(time, MotionEvent.ACTION_UP, center, y);
+        return recorder.stop();
+    }
+
+    @Test
+    public void replayedDrag_alphaFadeVsShaderFade() {
+        GestureTrace trace = dragTrace();
+        GestureTraceReplayer replayer = new GestureTraceReplayer().setCanvas(mCanvas);
+
+        mSliderView.setFadeMode(CenterSliderView.FadeMode.SHADER);
+        replayer.replay(mSliderView, trace); // warm up
+        GestureTraceReplayer.Result shader = replayer.replay(mSliderView, trace);
+
+        mSliderView.setFadeMode(CenterSliderView.FadeMode.ALPHA);
+        replayer.replay(mSliderView, trace); // warm up
+        GestureTraceReplayer.Result alpha = replayer.replay(mSliderView, trace);
+
+        Log.i(TAG, "replayed drag shader fade=" + shader + " alpha fade=" + alpha);
+        assertTrue(shader.getFinalValue() == alpha.getFinalValue());
+        assertTrue("alpha " + alpha.getTotalFrameNanos() + "ns vs shader " + shader.getTotalFrameNanos() + "ns",
+                alpha.getTotalFrameNanos() < shader.getTotalFrameNanos() * 2);
+    }
+}
@@ -0,0 +1,256 @@
+package com.postmates.widget.centersliderview;
+
+import android.view.Choreographer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Coordinates several linked {@link CenterSliderView}s, e.g. a pickup and a drop-off time.
+ *
+ * Every registered slider is stepped from one shared frame callback instead of scheduling its
+ * own, so a frame costs a single wakeup however many sliders are animating, and sliders that
+ * move together stay in step.
+ *
+ * Sliders can also be constrained against each other with
+ * {@link #addMinDistance(CenterSliderView, CenterSliderView, long)}.  When the user selects a
+ * value that breaks a constraint, the other slider slides to the closest value that satisfies
+ * it (which may in turn move others), and its listeners are called as if it had been selected.
+ * A constraint is left broken, and the selection stands, when the other slider can't move far
+ * enough: it's being dragged, it already moved for this selection, or it's at its min/max.
+ *
+ * Must be created and used on the UI thread.
+ */
+public class CenterSliderGroup implements CenterSliderView.FrameDriver, Choreographer.FrameCallback {
+
+    final Choreographer mChoreographer;
+    final List<CenterSliderView> mSliders = new ArrayList<>();
+    final List<SelectionListener> mSelectionListeners = new ArrayList<>();
+    final List<Constraint> mConstraints = new ArrayList<>();
+
+    // sliders that asked for frames, stepped together in doFrame
+    final List<CenterSliderView> mAnimating = new ArrayList<>();
+    boolean mFrameScheduled = false;
+    long mLastFrameTimeNanos;
+
+    // reused while propagating a selection
+    final List<CenterSliderView> mPending = new ArrayList<>();
+    final List<CenterSliderView> mMoved = new ArrayList<>();
+    boolean mPropagating = false;
+
+    public CenterSliderGroup() {
+        mChoreographer = Choreographer.getInstance();
+    }
+
+    /**
+     * Starts driving the slider's animations from this group.
+     */
+    public void add(CenterSliderView slider) {
+        if (mSliders.contains(slider)) {
+            return;
+        }
+
+        // stop the frames it scheduled for itself; they continue from here
+        slider.removeCallbacks(slider.mAnimationRunnable);
+        slider.mFrameDriver = this;
+        SelectionListener listener = new SelectionListener(slider);
+        slider.addOnSliderListener(listener);
+        mSliders.add(slider);
+        mSelectionListeners.add(listener);
+
+        if (slider.mIsAnimating) {
+            onAnimationRequested(slider);
+        }
+    }
+
+    /**
+     * Stops driving the slider and drops the constraints it's part of.  Anything it was animating
+     * jumps to the end.
+     */
+    public void remove(CenterSliderView slider) {
+        int index = mSliders.indexOf(slider);
+        if (index < 0) {
+            return;
+        }
+
+        mSliders.remove(index);
+        slider.removeOnSliderListener(mSelectionListeners.remove(index));
+        for (int i = mConstraints.size() - 1; i >= 0; i--) {
+            Constraint constraint = mConstraints.get(i);
+            if (constraint.mLower == slider || constraint.mUpper == slider) {
+                mConstraints.remove(i);
+            }
+        }
+
+        mAnimating.remove(slider);
+        slider.mFrameDriver = null;
+        slider.finishAnimations();
+    }
+
+    /**
+     * Keeps upper's value at least minDistance above lower's, e.g. drop-off >= pickup + 10
+     * minutes.  Both must already be in this group.
+     * @param minDistance in domain values, see {@link CenterSliderView#getCurrentDomainValue()}
+     */
+    public void addMinDistance(CenterSliderView lower, CenterSliderView upper, long minDistance) {
+        if (lower == upper) {
+            throw new IllegalArgumentException("a slider can't be constrained against itself");
+        }
+        if (!mSliders.contains(lower) || !mSliders.contains(upper)) {
+            throw new IllegalArgumentException("both sliders must be added to the group first");
+        }
+        mConstraints.add(new Constraint(lower, upper, minDistance));
+    }
+
+    public void clearConstraints() {
+        mConstraints.clear();
+    }
+
+    @Override
+    public void onAnimationRequested(CenterSliderView view) {
+        if (!view.mFramesAllowed) {
+            // hidden, nothing to step
+            view.finishAnimations();
+            return;
+        }
+
+        if (!mAnimating.contains(view)) {
+            mAnimating.add(view);
+        }
+        if (!mFrameScheduled) {
+            mFrameScheduled = true;
+            mLastFrameTimeNanos = 0;
+            mChoreographer.postFrameCallback(this);
+        }
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        mFrameScheduled = false;
+        int elapsedMs = mLastFrameTimeNanos == 0 ?
+                CenterSliderView.MS_PER_FRAME :
+                (int) Math.max(1, (frameTimeNanos - mLastFrameTimeNanos) / 1_000_000L);
+        mLastFrameTimeNanos = frameTimeNanos;
+
+        // backwards, so finished sliders can be dropped as we go
+        for (int i = mAnimating.size() - 1; i >= 0; i--) {
+            CenterSliderView slider = mAnimating.get(i);
+            if (!slider.mFramesAllowed) {
+                // hidden or detached since it asked
+                slider.finishAnimations();
+                mAnimating.remove(i);
+            } else if (!slider.doAnimationFrame(elapsedMs)) {
+                mAnimating.remove(i);
+            }
+        }
+
+        if (!mAnimating.isEmpty()) {
+            mFrameScheduled = true;
+            mChoreographer.postFrameCallback(this);
+        }
+    }
+
+    /**
+     * Moves other sliders, breadth first from source, until every constraint holds or the
+     * sliders that would have to move are pinned (being dragged, or already moved).
+     */
+    void onSelected(CenterSliderView source) {
+        if (mPropagating || mConstraints.isEmpty()) {
+            return;
+        }
+
+        mPropagating = true;
+        try {
+            mPending.clear();
+            mMoved.clear();
+            mPending.add(source);
+            mMoved.add(source);
+            for (int p = 0; p < mPending.size(); p++) {
+                CenterSliderView moved = mPending.get(p);
+                long value = moved.getCurrentDomainValue();
+                for (int i = 0; i < mConstraints.size(); i++) {
+                    Constraint constraint = mConstraints.get(i);
+                    CenterSliderView other;
+                    int index;
+                    if (constraint.mLower == moved) {
+                        other = constraint.mUpper;
+                        if (other.getCurrentDomainValue() >= value + constraint.mMinDistance) {
+                            continue;
+                        }
+                        index = indexAtLeast(other.mSliderInfo.mDomain, value + constraint.mMinDistance);
+                    } else if (constraint.mUpper == moved) {
+                        other = constraint.mLower;
+                        if (other.getCurrentDomainValue() <= value - constraint.mMinDistance) {
+                            continue;
+                        }
+                        index = indexAtMost(other.mSliderInfo.mDomain, value - constraint.mMinDistance);
+                    } else {
+                        continue;
+                    }
+
+                    // only sliders whose value actually changed count as moved and are reported
+                    if (!mMoved.contains(other) && other.setCurrentValue(index, true)) {
+                        mMoved.add(other);
+                        mPending.add(other);
+                    }
+                }
+            }
+
+            // report after everything has settled on its value
+            for (int m = 1; m < mMoved.size(); m++) {
+                mMoved.get(m).dispatchValueSelected();
+            }
+        } finally {
+            mPropagating = false;
+            mPending.clear();
+            mMoved.clear();
+        }
+    }
+
+    /**
+     * @return index of the value closest to target that's >= target
+     */
+    static int indexAtLeast(ValueDomain domain, long target) {
+        int index = domain.indexOf(target);
+        if (domain.valueAt(index) < target) {
+            index += domain.mStep > 0 ? 1 : -1;
+        }
+        return index;
+    }
+
+    /**
+     * @return index of the value closest to target that's <= target
+     */
+    static int indexAtMost(ValueDomain domain, long target) {
+        int index = domain.indexOf(target);
+        if (domain.valueAt(index) > target) {
+            index -= domain.mStep > 0 ? 1 : -1;
+        }
+        return index;
+    }
+
+    static final class Constraint {
+        final CenterSliderView mLower;
+        final CenterSliderView mUpper;
+        final long mMinDistance;
+
+        Constraint(CenterSliderView lower, CenterSliderView upper, long minDistance) {
+            mLower = lower;
+            mUpper = upper;
+            mMinDistance = minDistance;
+        }
+    }
+
+    class SelectionListener implements CenterSliderView.OnSliderListener {
+        final CenterSliderView mSlider;
+
+        SelectionListener(CenterSliderView slider) {
+            mSlider = slider;
+        }
+
+        @Override
+        public void onValueSelected(int newValue) {
+            onSelected(mSlider);
+        }
+    }
+}
@@ -0,0 +1,693 @@
+package com.postmates.widget.centersliderview;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.PixelFormat;
+import android.graphics.PorterDuff;
+import android.graphics.RectF;
+import android.os.CancellationSignal;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.Looper;
+import android.os.Process;
+import android.util.AttributeSet;
+import android.util.Log;
+import android.view.Choreographer;
+import android.view.MotionEvent;
+import android.view.Surface;
+import android.view.SurfaceHolder;
+import android.view.SurfaceView;
+import android.view.ViewConfiguration;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import androidx.annotation.Nullable;
+
+/**
+ * A {@link CenterSliderView} that draws on its own render thread into a {@link SurfaceView},
+ * so its animations stay smooth while the UI thread is busy.
+ *
+ * Takes the same xml attributes as {@link CenterSliderView}.  Internally it drives a detached
+ * CenterSliderView that is only ever touched from the render thread: touch events are copied
+ * into a lock-free {@link TouchEventQueue} on the UI thread and replayed on the render thread,
+ * which steps animations and draws on its own {@link Choreographer}.  Listener callbacks are
+ * posted back to the UI thread.
+ *
+ * Whether a gesture is the slider's at all has to be answered on the UI thread, so that's done
+ * there too: ACTION_DOWN is hit tested against bounds the render thread publishes after each
+ * frame, and the parent's side of the drag (keeping it from intercepting once the drag is
+ * clearly horizontal, and nested scrolling) is handled before the events are queued.
+ *
+ * The inner view is never attached, so it gets frames, and its dwell timer, from the render
+ * thread instead of a window.  Before the render thread starts and while there's no surface,
+ * animations jump straight to their end.  The dragger changes state without its
+ * AnimatedVectorDrawable animations, which aren't meant to be started off the UI thread.  This
+ * view watches the reduced motion settings on its behalf.
+ *
+ * Since the slider is drawn into a separate surface, its background should be set with
+ * `android:background` in xml (which is drawn into the surface) rather than with
+ * {@link #setBackground}.
+ */
+public class CenterSliderSurfaceView extends SurfaceView implements SurfaceHolder.Callback {
+
+    static final String TAG = CenterSliderSurfaceView.class.getSimpleName();
+
+    static final int QUEUE_CAPACITY = 256;
+
+    // only touched on the render thread once it's started
+    final CenterSliderView mSlider;
+    final TouchEventQueue mQueue = new TouchEventQueue(QUEUE_CAPACITY);
+    final Handler mMainHandler = new Handler(Looper.getMainLooper());
+    final List<CenterSliderView.OnSliderListener> mListeners = new CopyOnWriteArrayList<>();
+
+    // values published by the render thread after each frame
+    volatile int mPublishedValue;
+    volatile long mPublishedDomainValue;
+    // where an ACTION_DOWN starts a drag, or null while the slider would refuse one
+    @Nullable volatile RectF mPublishedTouchBounds;
+    // mSlider.mDragOverflow, for the drag that went down at mPublishedDragDownTime; written in
+    // that order, so the time can be checked first
+    volatile float mPublishedDragOverflow;
+    volatile long mPublishedDragDownTime = -1;
+
+    // the UI thread's side of the current gesture
+    final int mTouchSlop;
+    boolean mZoomEnabled;
+    int mTrackedPointerId = -1;
+    long mTrackedDownTime;
+    float mDownX, mDownY; // where the drag went down, for the touch slop
+    float mLastX; // x of the previous event, for nested scrolling deltas
+    boolean mDragClaimed;
+    // total x nested scrolling parents consumed; added to the queued events, so the slider moves
+    // as if the finger had moved that much less
+    int mNestedConsumedX;
+    // the last published overflow passed on to nested scrolling parents
+    float mSeenDragOverflow;
+    final int[] mNestedConsumed = new int[2];
+
+    @Nullable HandlerThread mRenderThread;
+    @Nullable Handler mRenderHandler;
+    // created on the render thread, read from the UI thread
+    @Nullable volatile RenderLoop mRenderLoop;
+
+    // UI thread copy of the inner view's policy; the inner view is never attached, so this view
+    // watches the motion settings for it
+    CenterSliderView.MotionPolicy mMotionPolicy;
+    boolean mWatchingMotionSettings;
+    final MotionSettingsMonitor.Listener mMotionSettingsListener = new MotionSettingsMonitor.Listener() {
+        @Override
+        public void onMotionReducedChanged(boolean reduced) {
+            postSystemMotionReduced(reduced);
+        }
+    };
+
+    public CenterSliderSurfaceView(Context context) {
+        this(context, null);
+    }
+
+    public CenterSliderSurfaceView(Context context, @Nullable AttributeSet attrs) {
+        this(context, attrs, 0);
+    }
+
+    public CenterSliderSurfaceView(Context context, @Nullable AttributeSet attrs, int defStyleAttr) {
+        this(context, attrs, defStyleAttr, 0);
+    }
+
+    public CenterSliderSurfaceView(Context context, @Nullable AttributeSet attrs, int defStyleAttr, int defStyleRes) {
+        super(context, attrs, defStyleAttr, defStyleRes);
+        mSlider = new CenterSliderView(context, attrs, defStyleAttr, defStyleRes);
+        mSlider.mAnimateDragger = false;
+        mMotionPolicy = mSlider.getMotionPolicy();
+        mZoomEnabled = mSlider.isZoomEnabled();
+        mTouchSlop = ViewConfiguration.get(context).getScaledTouchSlop();
+        setNestedScrollingEnabled(true);
+        // the background is drawn by mSlider into the surface, not by the window
+        setBackground(null);
+        getHolder().setFormat(PixelFormat.TRANSLUCENT);
+        getHolder().addCallback(this);
+
+        mPublishedValue = mSlider.getCurrentValue();
+        mPublishedDomainValue = mSlider.getCurrentDomainValue();
+        mSlider.addOnSliderListener(new CenterSliderView.OnSliderListener() {
+            @Override
+            public void onValueSelected(final int newValue) {
+                final long domainValue = mSlider.getCurrentDomainValue();
+                mMainHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        for (CenterSliderView.OnSliderListener listener : mListeners) {
+                            listener.onValueSelected(newValue);
+                            listener.onDomainValueSelected(domainValue);
+                        }
+                    }
+                });
+            }
+
+            @Override
+            public void onValueDwell(final int value, final CancellationSignal signal) {
+                // the signal is thread safe, so it can be canceled from the render thread
+                mMainHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (signal.isCanceled()) {
+                            return;
+                        }
+                        for (CenterSliderView.OnSliderListener listener : mListeners) {
+                            listener.onValueDwell(value, signal);
+                        }
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * See {@link CenterSliderView#setSliderInfo(CenterSliderView.SliderInfo)}.  Applied on the
+     * render thread before its next frame.
+     */
+    public void setSliderInfo(final CenterSliderView.SliderInfo sliderInfo) {
+        mPublishedValue = sliderInfo.mStartValue;
+        mPublishedDomainValue = sliderInfo.mDomain.valueAt(sliderInfo.mStartValue);
+        runOnRenderThread(new Runnable() {
+            @Override
+            public void run() {
+                mSlider.setSliderInfo(sliderInfo);
+                if (mRenderLoop != null) {
+                    mRenderLoop.relayout();
+                }
+            }
+        });
+    }
+
+    /**
+     * See {@link CenterSliderView#setFadeMode(CenterSliderView.FadeMode)}.
+     */
+    public void setFadeMode(final CenterSliderView.FadeMode fadeMode) {
+        runOnRenderThread(new Runnable() {
+            @Override
+            public void run() {
+                mSlider.setFadeMode(fadeMode);
+            }
+        });
+    }
+
+    /**
+     * See {@link CenterSliderView#setMotionPolicy(CenterSliderView.MotionPolicy)}.
+     */
+    public void setMotionPolicy(final CenterSliderView.MotionPolicy motionPolicy) {
+        mMotionPolicy = motionPolicy;
+        watchMotionSettings(isAttachedToWindow());
+        runOnRenderThread(new Runnable() {
+            @Override
+            public void run() {
+                mSlider.setMotionPolicy(motionPolicy);
+            }
+        });
+    }
+
+    /**
+     * See {@link CenterSliderView#setDragMode(CenterSliderView.DragMode)}.
+     */
+    public void setDragMode(final CenterSliderView.DragMode dragMode) {
+        runOnRenderThread(new Runnable() {
+            @Override
+            public void run() {
+                mSlider.setDragMode(dragMode);
+            }
+        });
+    }
+
+    /**
+     * See {@link CenterSliderView#setZoomEnabled(boolean)}.  Pinches are tracked on the render
+     * thread along with the rest of the touch events.
+     */
+    public void setZoomEnabled(final boolean enabled) {
+        mZoomEnabled = enabled;
+        runOnRenderThread(new Runnable() {
+            @Override
+            public void run() {
+                mSlider.setZoomEnabled(enabled);
+            }
+        });
+    }
+
+    /**
+     * See {@link CenterSliderView#setTickRenderer(TickRenderer)}.  The renderer is called on the
+     * render thread.
+     */
+    public void setTickRenderer(@Nullable final TickRenderer renderer) {
+        runOnRenderThread(new Runnable() {
+            @Override
+            public void run() {
+                mSlider.setTickRenderer(renderer);
+            }
+        });
+    }
+
+    /**
+     * @return the value as of the last frame drawn on the render thread
+     */
+    public int getCurrentValue() {
+        return mPublishedValue;
+    }
+
+    public long getCurrentDomainValue() {
+        return mPublishedDomainValue;
+    }
+
+    /**
+     * Listeners are called on the UI thread.
+     */
+    public void addOnSliderListener(CenterSliderView.OnSliderListener listener) {
+        mListeners.add(listener);
+    }
+
+    public void removeOnSliderListener(CenterSliderView.OnSliderListener listener) {
+        mListeners.remove(listener);
+    }
+
+    /**
+     * Runs on the render thread, followed by a frame, if it's running; otherwise directly, since
+     * nothing else is touching mSlider yet.
+     */
+    private void runOnRenderThread(final Runnable runnable) {
+        Handler handler = mRenderHandler;
+        if (handler == null) {
+            runnable.run();
+            return;
+        }
+
+        handler.post(new Runnable() {
+            @Override
+            public void run() {
+                runnable.run();
+                if (mRenderLoop != null) {
+                    mRenderLoop.mDirty = true;
+                    mRenderLoop.scheduleFrame();
+                }
+            }
+        });
+    }
+
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        // same sizing rules as CenterSliderView; mHeightOfView never changes after init
+        int heightMode = MeasureSpec.getMode(heightMeasureSpec);
+        int heightSize = MeasureSpec.getSize(heightMeasureSpec);
+        int height = getPaddingTop() + getPaddingBottom();
+        switch (heightMode) {
+            case MeasureSpec.EXACTLY:
+                height = heightSize;
+                break;
+            case MeasureSpec.AT_MOST:
+                height += Math.min(heightSize, mSlider.mHeightOfView);
+                break;
+            default:
+                height += mSlider.mHeightOfView;
+                break;
+        }
+        setMeasuredDimension(getDefaultSize(mSlider.mWidthOfView, widthMeasureSpec), height);
+    }
+
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+        mRenderThread = new HandlerThread("CenterSliderRender", Process.THREAD_PRIORITY_DISPLAY);
+        mRenderThread.start();
+        final Handler renderHandler = new Handler(mRenderThread.getLooper());
+        mRenderHandler = renderHandler;
+        renderHandler.post(new Runnable() {
+            @Override
+            public void run() {
+                // Choreographer.getInstance() is per looper, so this has to happen on the thread
+                mRenderLoop = new RenderLoop(Choreographer.getInstance());
+                mSlider.mFrameDriver = mRenderLoop;
+                mSlider.mTimerHandler = renderHandler;
+            }
+        });
+        watchMotionSettings(true);
+    }
+
+    private void watchMotionSettings(boolean attached) {
+        boolean watch = attached && mMotionPolicy == CenterSliderView.MotionPolicy.SYSTEM;
+        if (watch == mWatchingMotionSettings) {
+            return;
+        }
+
+        mWatchingMotionSettings = watch;
+        if (watch) {
+            postSystemMotionReduced(MotionSettingsMonitor.get()
+                    .addListener(getContext(), mMotionSettingsListener));
+        } else {
+            MotionSettingsMonitor.get().removeListener(mMotionSettingsListener);
+        }
+    }
+
+    private void postSystemMotionReduced(final boolean reduced) {
+        runOnRenderThread(new Runnable() {
+            @Override
+            public void run() {
+                mSlider.mSystemMotionReduced = reduced;
+                mSlider.updateMotionReduced();
+            }
+        });
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        // the surface is destroyed (and the render loop stopped drawing) during super
+        super.onDetachedFromWindow();
+        watchMotionSettings(false);
+        // until the next render loop has laid out
+        mPublishedTouchBounds = null;
+        final HandlerThread thread = mRenderThread;
+        if (thread == null) {
+            return;
+        }
+
+        mRenderHandler.post(new Runnable() {
+            @Override
+            public void run() {
+                if (mRenderLoop != null) {
+                    mRenderLoop.stop();
+                }
+                // a pending dwell would die with the thread
+                mSlider.endDwell(true);
+                mSlider.mTimerHandler = mMainHandler;
+                mSlider.mFrameDriver = null;
+                mRenderLoop = null;
+                thread.quitSafely();
+            }
+        });
+        mRenderThread = null;
+        mRenderHandler = null;
+    }
+
+    @Override
+    public boolean onTouchEvent(MotionEvent event) {
+        if (mRenderLoop == null && mRenderHandler == null) {
+            return false;
+        }
+
+        switch (event.getActionMasked()) {
+            case MotionEvent.ACTION_DOWN:
+                mNestedConsumedX = 0;
+                if (!isOnTouchBounds(event.getX(), event.getY())) {
+                    // not ours, so parents get the rest of the gesture; unless it may still turn
+                    // into a pinch, as in CenterSliderView
+                    if (!mZoomEnabled) {
+                        return false;
+                    }
+                    break;
+                }
+                mTrackedPointerId = event.getPointerId(0);
+                mTrackedDownTime = event.getDownTime();
+                mDownX = event.getX();
+                mDownY = event.getY();
+                mLastX = mDownX;
+                mDragClaimed = false;
+                mSeenDragOverflow = 0;
+                startNestedScroll(SCROLL_AXIS_HORIZONTAL);
+                break;
+
+            case MotionEvent.ACTION_MOVE:
+                if (mTrackedPointerId != -1) {
+                    trackMove(event);
+                }
+                break;
+
+            case MotionEvent.ACTION_UP:
+            case MotionEvent.ACTION_CANCEL:
+                if (mTrackedPointerId != -1) {
+                    mTrackedPointerId = -1;
+                    stopNestedScroll();
+                }
+                break;
+        }
+
+        event.offsetLocation(mNestedConsumedX, 0);
+        boolean queued = mQueue.offer(event);
+        event.offsetLocation(-mNestedConsumedX, 0);
+        if (!queued) {
+            Log.w(TAG, "render thread is behind, dropping touch event " + event.getActionMasked());
+        }
+        RenderLoop loop = mRenderLoop;
+        if (loop != null) {
+            loop.scheduleFrame();
+        }
+        // like CenterSliderView, eat motion events
+        return true;
+    }
+
+    private boolean isOnTouchBounds(float x, float y) {
+        RectF bounds = mPublishedTouchBounds;
+        return bounds != null && x > bounds.left && x < bounds.right &&
+                y > bounds.top && y < bounds.bottom;
+    }
+
+    /**
+     * The parent's side of CenterSliderView's ACTION_MOVE handling.
+     */
+    private void trackMove(MotionEvent event) {
+        int pointerIndex = event.findPointerIndex(mTrackedPointerId);
+        if (pointerIndex < 0) {
+            return;
+        }
+
+        float x = event.getX(pointerIndex);
+        if (!mDragClaimed) {
+            float distanceX = Math.abs(x - mDownX);
+            if (distanceX > mTouchSlop &&
+                    distanceX > Math.abs(event.getY(pointerIndex) - mDownY) &&
+                    getParent() != null) {
+                getParent().requestDisallowInterceptTouchEvent(true);
+                mDragClaimed = true;
+            }
+        }
+
+        int dx = Math.round(mLastX - x);
+        mLastX = x;
+        if (dispatchNestedPreScroll(dx, 0, mNestedConsumed, null)) {
+            mNestedConsumedX += mNestedConsumed[0];
+            dx -= mNestedConsumed[0];
+        }
+
+        // how far past the min/max the slider is as of the render thread's last frame, so a
+        // frame behind the finger
+        int dxUnconsumed = 0;
+        if (mPublishedDragDownTime == mTrackedDownTime) {
+            float overflow = mPublishedDragOverflow;
+            dxUnconsumed = Math.round(mSeenDragOverflow - overflow);
+            mSeenDragOverflow = overflow;
+        }
+        dispatchNestedScroll(dx - dxUnconsumed, 0, dxUnconsumed, 0, null);
+    }
+
+    //
+    // SurfaceHolder.Callback, all called on the UI thread
+    //
+
+    @Override
+    public void surfaceCreated(SurfaceHolder holder) {
+    }
+
+    @Override
+    public void surfaceChanged(final SurfaceHolder holder, int format, final int width, final int height) {
+        Handler handler = mRenderHandler;
+        if (handler == null) {
+            return;
+        }
+        handler.post(new Runnable() {
+            @Override
+            public void run() {
+                if (mRenderLoop != null) {
+                    mRenderLoop.setSurface(holder.getSurface(), width, height);
+                }
+            }
+        });
+    }
+
+    @Override
+    public void surfaceDestroyed(SurfaceHolder holder) {
+        Handler handler = mRenderHandler;
+        if (handler == null) {
+            return;
+        }
+
+        // the surface must not be used after this returns, so wait for the render thread
+        final CountDownLatch released = new CountDownLatch(1);
+        handler.post(new Runnable() {
+            @Override
+            public void run() {
+                if (mRenderLoop != null) {
+                    mRenderLoop.setSurface(null, 0, 0);
+                }
+                released.countDown();
+            }
+        });
+        try {
+            released.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Everything that runs on the render thread, apart from the posted configuration changes.
+     */
+    class RenderLoop implements Choreographer.FrameCallback, CenterSliderView.FrameDriver {
+        final Choreographer mChoreographer;
+        final TouchEventQueue.Event mEvent = new TouchEventQueue.Event();
+        // set by any thread to coalesce frame requests
+        final AtomicBoolean mFrameScheduled = new AtomicBoolean();
+        final RectF mTouchBounds = new RectF();
+
+        @Nullable Surface mSurface;
+        int mWidth, mHeight;
+        long mDownTime;
+        // of the last frame that stepped animations, 0 if the previous frame didn't
+        long mLastFrameTimeNanos;
+        boolean mDirty;
+        boolean mStopped;
+
+        RenderLoop(Choreographer choreographer) {
+            mChoreographer = choreographer;
+        }
+
+        /**
+         * Safe to call from any thread.
+         */
+        void scheduleFrame() {
+            if (mFrameScheduled.compareAndSet(false, true)) {
+                mChoreographer.postFrameCallback(this);
+            }
+        }
+
+        void stop() {
+            mStopped = true;
+            mChoreographer.removeFrameCallback(this);
+        }
+
+        void setSurface(@Nullable Surface surface, int width, int height) {
+            mSurface = surface;
+            if (surface != null && (width != mWidth || height != mHeight)) {
+                mWidth = width;
+                mHeight = height;
+                relayout();
+            }
+            if (surface != null) {
+                mDirty = true;
+                scheduleFrame();
+            }
+        }
+
+        void relayout() {
+            if (mWidth == 0 || mHeight == 0) {
+                return;
+            }
+            // onLayout only re-creates the ticks if a layout is pending
+            mSlider.requestLayout();
+            mSlider.measure(
+                    MeasureSpec.makeMeasureSpec(mWidth, MeasureSpec.EXACTLY),
+                    MeasureSpec.makeMeasureSpec(mHeight, MeasureSpec.EXACTLY));
+            mSlider.layout(0, 0, mWidth, mHeight);
+            mDirty = true;
+        }
+
+        @Override
+        public void onAnimationRequested(CenterSliderView view) {
+            scheduleFrame();
+        }
+
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            // clear first, so events offered while this frame runs schedule the next one
+            mFrameScheduled.set(false);
+            if (mStopped) {
+                return;
+            }
+
+            boolean dirty = mDirty;
+            mDirty = false;
+            while (mQueue.poll(mEvent)) {
+                if (mSurface == null) {
+                    // not laid out yet, nothing sensible to hit test against
+                    continue;
+                }
+                if (mEvent.action == MotionEvent.ACTION_DOWN) {
+                    mDownTime = mEvent.time;
+                }
+                MotionEvent event = mEvent.obtainMotionEvent(mDownTime);
+                mSlider.onTouchEvent(event);
+                event.recycle();
+                dirty = true;
+            }
+
+            if (mSurface == null) {
+                // nothing to show the frames on
+                mSlider.finishAnimations();
+            }
+            int elapsedMs = mLastFrameTimeNanos == 0 ?
+                    CenterSliderView.MS_PER_FRAME :
+                    (int) Math.max(1, (frameTimeNanos - mLastFrameTimeNanos) / 1_000_000L);
+            boolean animating = mSlider.mIsAnimating && mSlider.doAnimationFrame(elapsedMs);
+            mLastFrameTimeNanos = animating ? frameTimeNanos : 0;
+            if (dirty || animating) {
+                draw();
+            }
+
+            mPublishedValue = mSlider.getCurrentValue();
+            mPublishedDomainValue = mSlider.getCurrentDomainValue();
+            publishTouchState(animating);
+
+            if (animating) {
+                scheduleFrame();
+            }
+        }
+
+        private void publishTouchState(boolean animating) {
+            if (mSlider.mPointerId != -1) {
+                mPublishedDragOverflow = mSlider.mDragOverflow;
+                mPublishedDragDownTime = mDownTime;
+                // the next ACTION_DOWN comes after this drag's ACTION_UP
+                return;
+            }
+
+            if (animating || mSurface == null || mSlider.mDraggerBounds == null) {
+                // the slider refuses an ACTION_DOWN while it's settling
+                mPublishedTouchBounds = null;
+                return;
+            }
+            mSlider.getTouchBounds(mTouchBounds);
+            if (!mTouchBounds.equals(mPublishedTouchBounds)) {
+                // only allocated when the dragger has moved
+                mPublishedTouchBounds = new RectF(mTouchBounds);
+            }
+        }
+
+        private void draw() {
+            Surface surface = mSurface;
+            if (surface == null || !surface.isValid()) {
+                return;
+            }
+
+            Canvas canvas;
+            try {
+                canvas = surface.lockHardwareCanvas();
+            } catch (IllegalStateException e) {
+                Log.w(TAG, "unable to lock surface", e);
+                return;
+            }
+            try {
+                canvas.drawColor(Color.TRANSPARENT, PorterDuff.Mode.CLEAR);
+                mSlider.draw(canvas);
+            } finally {
+                surface.unlockCanvasAndPost(canvas);
+            }
+        }
+    }
+}
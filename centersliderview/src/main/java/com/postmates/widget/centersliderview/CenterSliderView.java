@@ -4,31 +4,42 @@ import android.annotation.SuppressLint;
 import android.content.Context;
 import android.content.res.Resources;
 import android.content.res.TypedArray;
+import android.graphics.Bitmap;
 import android.graphics.Canvas;
 import android.graphics.Color;
 import android.graphics.LinearGradient;
 import android.graphics.Paint;
 import android.graphics.PointF;
 import android.graphics.Rect;
+import android.graphics.RectF;
 import android.graphics.Shader;
 import android.graphics.drawable.AnimatedVectorDrawable;
 import android.graphics.drawable.VectorDrawable;
+import android.os.CancellationSignal;
 import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
 import android.util.AttributeSet;
 import android.util.Log;
 import android.view.MotionEvent;
+import android.view.ScaleGestureDetector;
 import android.view.View;
 import android.view.ViewConfiguration;
+import android.view.animation.AnimationUtils;
 import android.view.animation.Interpolator;
 import android.view.animation.OvershootInterpolator;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.Locale;
 import java.util.Map;
 import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import androidx.annotation.Nullable;
 
@@ -49,12 +60,13 @@ public class CenterSliderView extends View {
 
     static final String TAG = CenterSliderView.class.getSimpleName();
 
-    static final int MS_PER_FRAME = 16; // ~= 60 frames/sec
+    static final int MS_PER_FRAME = 16; // ~= 60 frames/sec, only used when frames are stepped by hand
     // since most values are in float and converted to int, add/sub a rounding constant
     static final int BAR_ROUNDING_CONSTANT = 2;
     static final int DRAGGER_ROUNDING_CONSTANT = 8; // larger for more forgiveness
-
-    static Handler sHandler = new Handler();
+    static final float MIN_INTERVALS_TO_EDGE = 1;
+    // disabled ticks are drawn at this fraction (of 255) of their alpha
+    static final int DISABLED_TICK_ALPHA = 77;
 
     enum AnimationType {
         DRAGGER,
@@ -67,27 +79,109 @@ public class CenterSliderView extends View {
         CENTER;
     }
 
+    /**
+     * How ticks fade out towards the edges of the view.
+     */
+    public enum FadeMode {
+        /** gradient shaders on the line and text paints (original behavior) */
+        SHADER,
+        /**
+         * per tick alpha computed from its x position; fully faded ticks are skipped and labels
+         * are drawn with solid paints.  Best used when `paintColorFade` matches the background.
+         */
+        ALPHA;
+    }
+
+    /**
+     * Whether the slider animates or jumps straight to where an animation would end.
+     */
+    public enum MotionPolicy {
+        /**
+         * reduced while the system animator duration scale is 0 or battery saver is on, full
+         * otherwise
+         */
+        SYSTEM,
+        /** always animate */
+        FULL,
+        /**
+         * never animate: the dragger changes state without its AVD animation, the ticks jump to
+         * re-center, edge scrolling is off and no frames are scheduled
+         */
+        REDUCED;
+    }
+
+    /**
+     * What the finger moves while selecting a value.
+     */
+    public enum DragMode {
+        /**
+         * the dragger follows the finger over the ticks; on release the ticks slide back to put
+         * the selected value under the re-centered dragger (original behavior)
+         */
+        DRAGGER,
+        /**
+         * the ticks follow the finger under a dragger that stays centered, and the value is
+         * whichever tick is closest to it; on release the ticks only snap that tick to the center
+         */
+        RIBBON;
+    }
+
     List<OnSliderListener> mListeners = new ArrayList<>();
 
     int mHeightOfView;
     // arbitrary width defined
     int mWidthOfView = 500;
     int mCenterAnimationDurationMs;
+    int mSnapAnimationDurationMs; // for DragMode.RIBBON releases
+    int mDwellThresholdMs;
     // the colors for drawing
     int mBaseLineColor, mDarkColor, mTooltipTextColor, mBaseLineTextColor;
 
     // configuration of slider
     SliderInfo mSliderInfo;
-    int mCurrentValue;
+    int mCurrentValue; // step index, see ValueDomain
     int mAnimateStartValue;
     int mPluralRes;
+    // reused for every label so formatting doesn't allocate (or box) beyond the final String
+    final StringBuilder mLabelBuilder = new StringBuilder();
+    // tooltip text is only rebuilt when the value changes, not on every frame
+    String mTooltipText;
+    int mTooltipTextValue;
+    boolean mTooltipTextValid = false;
 
     // UI
     LinearGradient mBaseLineGradient;
     LinearGradient mBaseLineTextGradient;
     Paint mBaseLinePaint;
     Paint mBaseLineTextPaint;
+    Paint mTickLinePaint; // shader free copy of mBaseLinePaint for FadeMode.ALPHA
+    FadeMode mFadeMode = FadeMode.SHADER;
+    MotionPolicy mMotionPolicy = MotionPolicy.SYSTEM;
+    DragMode mDragMode = DragMode.DRAGGER;
+    // mDragMode as of the current gesture's ACTION_DOWN
+    DragMode mGestureDragMode = DragMode.DRAGGER;
+    // mMotionPolicy resolved against mSystemMotionReduced, so starting an animation doesn't ask
+    // the system
+    boolean mMotionReduced = false;
+    // last state from MotionSettingsMonitor, kept current while attached with MotionPolicy.SYSTEM;
+    // a detached view has no frames to skip anyway
+    boolean mSystemMotionReduced = false;
+    boolean mWatchingMotionSettings = false;
+    // fade regions in px for FadeMode.ALPHA: alpha ramps 0->255 from start to end on the left
+    // and 255->0 on the right
+    float mFadeLeftStart, mFadeLeftEnd, mFadeRightStart, mFadeRightEnd;
     Paint mTooltipTextPaint;
+    // availability band under the baseline, see setIntensities
+    @Nullable float[] mIntensities; // indexed by value - min value
+    // stands in for mIntensities' contents in SliderPreviewCache keys, so they aren't hashed;
+    // 0 without intensities, otherwise unique across views, including those on render threads
+    int mIntensitiesVersion;
+    static final AtomicInteger sLastIntensitiesVersion = new AtomicInteger();
+    Paint mIntensityPaint;
+    int mIntensityColor;
+    int mIntensityHeight;
+    TickRenderer mTickRenderer = DefaultTickRenderer.INSTANCE;
+    final TickRenderer.Scratch mTickScratch = new TickRenderer.Scratch();
 
     // data arrays for point coordinates
     LineInfo mBaseLine;
@@ -101,6 +195,16 @@ public class CenterSliderView extends View {
     int mLargeTickHeight;
     float mTickTextYOffset;
     float mTickIntervalWidth; // pixels between each interval
+    // starts at the SliderInfo's intervals to edge, then changes with zoom
+    float mIntervalsToEdge;
+    // only created once zooming is enabled
+    @Nullable ScaleGestureDetector mScaleDetector;
+    // level of detail: only every Nth value (counted from the start value) gets a line/label,
+    // so dense sliders draw as many ticks as fit rather than one per value
+    int mMinTickSpacing;
+    int mMinLabelSpacing;
+    int mTickStride = 1;
+    int mLabelStride = 1;
 
     // there's no "reverse" behavior for animated vector drawable, so swap forwards/backwards
     AnimatedVectorDrawable mDraggerDrawable;
@@ -125,8 +229,24 @@ public class CenterSliderView extends View {
 
     // motion event details
     int mPointerId = -1;
-    float mStartX; // starting x for move events
+    float mStartX; // starting x for move events, less whatever nested scrolling parents consumed
+    float mDownX, mDownY; // where the drag went down, for the touch slop
+    float mLastX; // x of the previous event, for nested scrolling deltas
+    // true once the drag moved horizontally past the touch slop and parents were asked not to
+    // intercept it
+    boolean mDragClaimed;
+    // how far the finger was past the min/max at the previous event; reported to nested
+    // scrolling parents as unconsumed
+    float mDragOverflow;
+    final int[] mNestedConsumed = new int[2];
+    // edge auto-scroll while the dragger is held near either end
+    boolean mEdgeScrollEnabled = true;
+    int mEdgeScrollZone;
+    int mEdgeScrollSpeed; // px per second at full depth
+    float mEdgeScrollVelocity; // px per second, positive towards larger values
     int mScaledWindowTouchSlop;
+    int mTouchSlop;
+    final RectF mTouchBounds = new RectF(); // for hit testing ACTION_DOWN
 
     // Animation details
     float xBarDistance;
@@ -134,28 +254,83 @@ public class CenterSliderView extends View {
         // offset to add when drawing the bar during an animation
     float xBarDrawOffset;
     Interpolator mInterpolator;
+    int mCenterRunDurationMs; // duration of the running center animation
     int mTimeMs = 0;
     boolean mIsAnimating = false;
-    // single runnable to process queues and running set of animations
-    Runnable mAnimationRunnable = new Runnable() {
+    // when set, frames are stepped by something other than this view, see FrameDriver
+    @Nullable FrameDriver mFrameDriver;
+    // only true while attached and visible; otherwise animations jump straight to their end
+    boolean mFramesAllowed = false;
+    long mLastFrameTimeMs;
+    // single runnable to process queues and running set of animations; posted with
+    // postOnAnimation, so it's only ever queued on this view's own attach info
+    final Runnable mAnimationRunnable = new Runnable() {
+        @Override
+        public void run() {
+            // within a frame callback this is the frame's time
+            long now = AnimationUtils.currentAnimationTimeMillis();
+            int elapsedMs = (int) Math.max(1, now - mLastFrameTimeMs);
+            mLastFrameTimeMs = now;
+            if (doAnimationFrame(elapsedMs)) {
+                postOnAnimation(this);
+            }
+        }
+    };
+
+    // latest info from publishSliderInfo that the UI thread hasn't applied yet; the only field
+    // written off the UI thread
+    final AtomicReference<SliderInfo> mPublishedSliderInfo = new AtomicReference<>();
+    final Runnable mApplyPublishedRunnable = new Runnable() {
+        @Override
+        public void run() {
+            applyPublishedSliderInfo();
+        }
+    };
+    // not the view's own post: a detached view queues runnables per thread until it's attached,
+    // so one posted from a worker thread would never run
+    final Handler mMainHandler = new Handler(Looper.getMainLooper());
+
+    final MotionSettingsMonitor.Listener mMotionSettingsListener = new MotionSettingsMonitor.Listener() {
+        @Override
+        public void onMotionReducedChanged(boolean reduced) {
+            mSystemMotionReduced = reduced;
+            updateMotionReduced();
+        }
+    };
+
+    // runs the dwell timer; the UI thread's, or CenterSliderSurfaceView's render thread's,
+    // which is why this isn't the view's own postDelayed
+    Handler mTimerHandler = new Handler(Looper.getMainLooper());
+    // false swaps the dragger between its states without running the AVDs
+    boolean mAnimateDragger = true;
+
+    // dwell detection while dragging, see OnSliderListener#onValueDwell
+    int mDwellValue;
+    @Nullable CancellationSignal mDwellSignal;
+    final Runnable mDwellRunnable = new Runnable() {
         @Override
         public void run() {
-            if (!isAttachedToWindow()) {
+            if (mPointerId == -1 || mCurrentValue != mDwellValue) {
                 return;
             }
 
-            boolean isDraggerRunning = handleDraggerAnimation();
-            boolean isBaseLineRunning = handleCenterAnimation();
-            boolean hasAnimationsRunning = isDraggerRunning || isBaseLineRunning;
-            if (hasAnimationsRunning) {
-                invalidate();
-                sHandler.postDelayed(this, MS_PER_FRAME);
-            } else {
-                mIsAnimating = false;
+            CancellationSignal signal = new CancellationSignal();
+            mDwellSignal = signal;
+            for (int i = 0; i < mListeners.size(); i++) {
+                mListeners.get(i).onValueDwell(mDwellValue, signal);
             }
         }
     };
 
+    // preview mode draws a cached bitmap of the resting state instead of the live slider
+    @Nullable SliderPreviewCache mPreviewCache;
+    final SliderPreviewCache.Key mPreviewKey = new SliderPreviewCache.Key();
+    // everything read from attributes that changes the look, for SliderPreviewCache.Key
+    int[] mStyle;
+
+    // opt-in gesture recording, see GestureTrace
+    @Nullable GestureTrace.Recorder mGestureRecorder;
+
     public CenterSliderView(Context context) {
         this(context, null);
     }
@@ -178,6 +353,8 @@ public class CenterSliderView extends View {
         // set defaults
         int baseLineTextSize = res.getDimensionPixelSize(R.dimen.center_slider_view_base_line_text_size);
         mCenterAnimationDurationMs = res.getInteger(R.integer.center_slider_view_center_animation_ms);
+        mSnapAnimationDurationMs = res.getInteger(R.integer.center_slider_view_snap_animation_ms);
+        mDwellThresholdMs = res.getInteger(R.integer.center_slider_view_dwell_ms);
         mDarkColor = Color.BLACK;
         mBaseLineColor = Color.WHITE;
         mBaseLineTextColor = Color.WHITE;
@@ -187,6 +364,9 @@ public class CenterSliderView extends View {
         mTooltipHeight = res.getDimensionPixelSize(R.dimen.center_slider_view_tooltip_height);
         int tooltipTextSize = res.getDimensionPixelSize(R.dimen.center_slider_view_tooltip_text_size);
         mPluralRes = R.plurals.center_slider_view_units;
+        // same defaults as the xml fallbacks below
+        mIntensityColor = mBaseLineColor;
+        mIntensityHeight = mSmallTickHeight;
 
         if (attrs != null) {
             TypedArray a = c.getTheme().obtainStyledAttributes(
@@ -198,6 +378,7 @@ public class CenterSliderView extends View {
                 mBaseLineTextColor = a.getColor(R.styleable.CenterSliderView_baseLineTextColor, mBaseLineTextColor);
                 baseLineTextSize = a.getDimensionPixelSize(R.styleable.CenterSliderView_baseLineTextSize, baseLineTextSize);
                 mCenterAnimationDurationMs = a.getInteger(R.styleable.CenterSliderView_centerAnimationDuration, mCenterAnimationDurationMs);
+                mDwellThresholdMs = a.getInteger(R.styleable.CenterSliderView_dwellThreshold, mDwellThresholdMs);
                 mDarkColor = a.getColor(R.styleable.CenterSliderView_paintColorFade, Color.BLACK);
                 mLargeTickHeight = a.getDimensionPixelSize(R.styleable.CenterSliderView_tickHeightLarge, mLargeTickHeight);
                 mSmallTickHeight = a.getDimensionPixelSize(R.styleable.CenterSliderView_tickHeightSmall, mSmallTickHeight);
@@ -205,29 +386,54 @@ public class CenterSliderView extends View {
                 tooltipTextSize = a.getDimensionPixelSize(R.styleable.CenterSliderView_tooltipTextSize, tooltipTextSize);
                 mTooltipHeight = a.getDimensionPixelSize(R.styleable.CenterSliderView_tooltipHeight, mTooltipHeight);
                 mPluralRes = a.getResourceId(R.styleable.CenterSliderView_unitReference, mPluralRes);
+                mFadeMode = FadeMode.values()[a.getInt(R.styleable.CenterSliderView_fadeMode, mFadeMode.ordinal())];
+                mMotionPolicy = MotionPolicy.values()[a.getInt(R.styleable.CenterSliderView_motionPolicy, mMotionPolicy.ordinal())];
+                mDragMode = DragMode.values()[a.getInt(R.styleable.CenterSliderView_dragMode, mDragMode.ordinal())];
+                mIntensityColor = a.getColor(R.styleable.CenterSliderView_intensityColor, mBaseLineColor);
+                mIntensityHeight = a.getDimensionPixelSize(R.styleable.CenterSliderView_intensityHeight, mSmallTickHeight);
             } finally {
                 a.recycle();
             }
         }
 
+        updateMotionReduced();
+
         mDraggerWidth = res.getDimensionPixelSize(R.dimen.center_slider_view_dragger_width);
         mDraggerHeight = res.getDimensionPixelSize(R.dimen.center_slider_view_dragger_height);
         mTooltipAboveDragger = res.getDimensionPixelSize(R.dimen.center_slider_view_tooltip_dragger_distance);
         int tickTextPadding = res.getDimensionPixelSize(R.dimen.center_slider_view_tick_text_padding);
         mTickTextYOffset = baseLineTextSize / 2 + tickTextPadding; // add half text size, b/c centered
         mTooltipTextPadding = res.getDimensionPixelOffset(R.dimen.center_slider_view_tooltip_text_padding);
+        mMinTickSpacing = res.getDimensionPixelSize(R.dimen.center_slider_view_min_tick_spacing);
+        mMinLabelSpacing = res.getDimensionPixelSize(R.dimen.center_slider_view_min_label_spacing);
+        mEdgeScrollZone = res.getDimensionPixelSize(R.dimen.center_slider_view_edge_scroll_zone);
+        mEdgeScrollSpeed = res.getDimensionPixelSize(R.dimen.center_slider_view_edge_scroll_speed);
 
         mBaseLinePaint = new Paint(Paint.ANTI_ALIAS_FLAG);
         mBaseLinePaint.setColor(mBaseLineColor);
         mBaseLinePaint.setStrokeWidth(2);
         mBaseLinePaint.setTextSize(baseLineTextSize);
         mBaseLinePaint.setTextAlign(Paint.Align.CENTER);
+        mTickLinePaint = new Paint(mBaseLinePaint);
 
         mBaseLineTextPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
         mBaseLineTextPaint.setColor(mBaseLineTextColor);
         mBaseLineTextPaint.setTextSize(baseLineTextSize);
         mBaseLineTextPaint.setTextAlign(Paint.Align.CENTER);
 
+        mTickScratch.textPaint = mBaseLineTextPaint;
+        applyFadeMode();
+        mTickScratch.lineAlpha = Color.alpha(mBaseLineColor);
+        mTickScratch.textAlpha = Color.alpha(mBaseLineTextColor);
+        mTickScratch.smallTickHeight = mSmallTickHeight;
+        mTickScratch.largeTickHeight = mLargeTickHeight;
+        mTickScratch.textYOffset = mTickTextYOffset;
+
+        // solid fills, so no anti aliasing needed
+        mIntensityPaint = new Paint();
+        mIntensityPaint.setStyle(Paint.Style.FILL);
+        mIntensityPaint.setColor(mIntensityColor);
+
         mTooltipTextPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
         mTooltipTextPaint.setColor(mTooltipTextColor);
         mTooltipTextPaint.setTextSize(tooltipTextSize);
@@ -239,8 +445,9 @@ public class CenterSliderView extends View {
         mInterpolator = new OvershootInterpolator(1f);
 
         // with the min/max, current, and intervalsToEdge we can evaluate our window of the slider
-        mSliderInfo = new SliderInfo();
+        mSliderInfo = SliderInfo.DEFAULT;
         mCurrentValue = mSliderInfo.mStartValue;
+        mIntervalsToEdge = mSliderInfo.mIntervalsToEdge;
 
         mHeightBuffer = res.getDimensionPixelSize(R.dimen.center_slider_view_height_buffer);
         // add all the elements together + buffer
@@ -250,6 +457,23 @@ public class CenterSliderView extends View {
                 mHeightBuffer;
 
         mScaledWindowTouchSlop = ViewConfiguration.get(c).getScaledWindowTouchSlop();
+        mTouchSlop = ViewConfiguration.get(c).getScaledTouchSlop();
+        // horizontal drags are offered to nested scrolling parents, see onTouchEvent
+        setNestedScrollingEnabled(true);
+
+        mStyle = new int[]{mBaseLineColor, mBaseLineTextColor, mDarkColor, mTooltipTextColor,
+                baseLineTextSize, tooltipTextSize, mLargeTickHeight, mSmallTickHeight,
+                mTooltipHeight, mPluralRes, mIntensityColor, mIntensityHeight};
+        // drawables are loaded once the view is sized, unless it's only previewed
+    }
+
+    /**
+     * Loads the dragger and tooltip drawables, if they aren't already.
+     */
+    private void ensureDrawables() {
+        if (mDraggerBeforeDrawable != null) {
+            return;
+        }
 
         // may be worth exploring how an AnimatedStateListDrawable would work instead
         mDraggerBeforeDrawable =
@@ -260,18 +484,75 @@ public class CenterSliderView extends View {
 
         mTooltipDrawable =
                 (VectorDrawable) getContext().getDrawable(R.drawable.ic_tooltip);
+
+        if (mMutableDraggerBounds != null) {
+            mDraggerBeforeDrawable.setBounds(mMutableDraggerBounds);
+            mDraggerAfterDrawable.setBounds(mMutableDraggerBounds);
+            mTooltipDrawable.setBounds(mTooltipBounds);
+        }
     }
 
     /**
-     * Call this to initialize the slider's data from Activity/Fragment
+     * Call this to initialize the slider's data from Activity/Fragment.  Must be called on the UI
+     * thread; use {@link #publishSliderInfo(SliderInfo)} from other threads.
      * @param sliderInfo
      */
     public void setSliderInfo(SliderInfo sliderInfo) {
+        // an info published before this call is older than this one
+        mPublishedSliderInfo.set(null);
+
+        // whatever was going on belongs to the old ticks
+        if (mPointerId != -1) {
+            endDwell(true);
+            mPointerId = -1;
+            mEdgeScrollVelocity = 0;
+            stopNestedScroll();
+        }
+        finishAnimations();
+        if (mDraggerBeforeDrawable != null) {
+            mDraggerDrawable = mDraggerBeforeDrawable;
+        }
+
         this.mSliderInfo = sliderInfo;
         mCurrentValue = sliderInfo.mStartValue;
+        mTooltipTextValid = false;
+        mIntervalsToEdge = sliderInfo.mIntervalsToEdge;
+        updateTickIntervalWidth();
         mInitTickLines = true;
-        mIsAnimating = false;
-        mPointerId = -1;
+        // onLayout re-creates the ticks
+        requestLayout();
+        invalidate();
+    }
+
+    /**
+     * Hands a new slider info to the view from any thread, e.g. one built from a server response
+     * on a worker thread.  The UI thread applies it as if by {@link #setSliderInfo(SliderInfo)}
+     * as soon as its looper gets to it, attached or not.  If several are published before then,
+     * only the last one is applied.
+     *
+     * SliderInfo is immutable, so the UI thread always sees a complete info, never a mix of two.
+     */
+    public void publishSliderInfo(SliderInfo sliderInfo) {
+        if (sliderInfo == null) {
+            throw new IllegalArgumentException("sliderInfo can't be null");
+        }
+
+        // only the publish that finds nothing pending has to wake the UI thread; later ones are
+        // picked up by the same run
+        if (mPublishedSliderInfo.getAndSet(sliderInfo) == null) {
+            mMainHandler.post(mApplyPublishedRunnable);
+        }
+    }
+
+    /**
+     * Applies the latest published info, if there is one.  UI thread only.
+     */
+    void applyPublishedSliderInfo() {
+        // single read: everything below uses this one snapshot
+        SliderInfo published = mPublishedSliderInfo.getAndSet(null);
+        if (published != null) {
+            setSliderInfo(published);
+        }
     }
 
     private void initializeTickLines(int width) {
@@ -293,12 +574,448 @@ public class CenterSliderView extends View {
         return mCurrentValue;
     }
 
+    /**
+     * Moves the slider to a new value, keeping it centered under the dragger.  Listeners aren't
+     * called.
+     * @param value step index, clamped to the slider's bounds and moved off disabled values
+     * @param animate slide the ticks over, if the new value is on screen; otherwise jump
+     * @return true if the value changed; false if the user is dragging this slider, or the value
+     *         it ended up on after clamping is the one it already had
+     */
+    public boolean setCurrentValue(int value, boolean animate) {
+        if (mPointerId != -1) {
+            return false;
+        }
+
+        value = Math.max(mSliderInfo.mMinValue, Math.min(value, mSliderInfo.mMaxValue));
+        value = mSliderInfo.getNearestEnabledValue(value, value > mCurrentValue);
+        if (value == mCurrentValue) {
+            return false;
+        }
+
+        // a re-centering that's still running would slide from stale positions
+        finishAnimations();
+        if (mBaseLine == null || mInitTickLines || mTickLines.isEmpty()) {
+            // not laid out yet, onLayout centers on it
+            mCurrentValue = value;
+            return true;
+        }
+
+        mAnimateStartValue = mCurrentValue;
+        mCurrentValue = value;
+        if (animate && getTickLineInfo(value) != null) {
+            queueCenterAnimation(mCenterAnimationDurationMs);
+        } else {
+            initializeTickLines(getMeasuredWidth());
+            resetCenterAlignment();
+        }
+        invalidate();
+        return true;
+    }
+
+    /**
+     * Current value of this slider mapped through the {@link ValueDomain} of its {@link SliderInfo}.
+     * Fixed point domains return the scaled value.
+     * @return current domain value of slider
+     */
+    public long getCurrentDomainValue() {
+        return mSliderInfo.mDomain.valueAt(mCurrentValue);
+    }
+
     /**
      * Returns current value with units of tooltip in slider
      * @return
      */
     public String getCurrentValueStringUnits() {
-        return getContext().getResources().getQuantityString(mPluralRes, mCurrentValue, mCurrentValue);
+        if (mTooltipTextValid && mTooltipTextValue == mCurrentValue) {
+            return mTooltipText;
+        }
+
+        ValueDomain domain = mSliderInfo.mDomain;
+        long value = domain.valueAt(mCurrentValue);
+        if (mSliderInfo.mLabelFormatter != null) {
+            mLabelBuilder.setLength(0);
+            mSliderInfo.mLabelFormatter.appendTooltipLabel(domain, value, mLabelBuilder);
+            mTooltipText = mLabelBuilder.toString();
+        } else if (domain.isIntegral() && value == (int) value) {
+            mTooltipText = getContext().getResources().getQuantityString(mPluralRes, (int) value, (int) value);
+        } else {
+            // plurals can't take a fractional/long quantity, so just show the number
+            mLabelBuilder.setLength(0);
+            domain.appendValue(mCurrentValue, mLabelBuilder);
+            mTooltipText = mLabelBuilder.toString();
+        }
+        mTooltipTextValue = mCurrentValue;
+        mTooltipTextValid = true;
+        return mTooltipText;
+    }
+
+    /**
+     * Changes how ticks fade towards the edges, see {@link FadeMode}.
+     * @param fadeMode
+     */
+    public void setFadeMode(FadeMode fadeMode) {
+        if (mFadeMode == fadeMode) {
+            return;
+        }
+        mFadeMode = fadeMode;
+        applyFadeMode();
+        invalidate();
+    }
+
+    public FadeMode getFadeMode() {
+        return mFadeMode;
+    }
+
+    private void applyFadeMode() {
+        // the baseline itself is a single line, so it always keeps its gradient
+        mBaseLinePaint.setShader(mBaseLineGradient);
+        if (mFadeMode == FadeMode.ALPHA) {
+            mTickScratch.linePaint = mTickLinePaint;
+            mBaseLineTextPaint.setShader(null);
+        } else {
+            mTickScratch.linePaint = mBaseLinePaint;
+            mBaseLineTextPaint.setShader(mBaseLineTextGradient);
+        }
+    }
+
+    /**
+     * Sets whether the slider animates, see {@link MotionPolicy}.  Animations already running
+     * jump to their end if the slider stops animating.
+     * @param motionPolicy
+     */
+    public void setMotionPolicy(MotionPolicy motionPolicy) {
+        mMotionPolicy = motionPolicy;
+        watchMotionSettings(isAttachedToWindow());
+        updateMotionReduced();
+    }
+
+    public MotionPolicy getMotionPolicy() {
+        return mMotionPolicy;
+    }
+
+    /**
+     * Sets what the finger moves while selecting a value, see {@link DragMode}.  A drag that's
+     * already in progress finishes in the mode it started in.
+     * @param dragMode
+     */
+    public void setDragMode(DragMode dragMode) {
+        mDragMode = dragMode;
+    }
+
+    public DragMode getDragMode() {
+        return mDragMode;
+    }
+
+    /**
+     * Registers with the shared {@link MotionSettingsMonitor} while attached with
+     * {@link MotionPolicy#SYSTEM}, and unregisters otherwise.
+     */
+    private void watchMotionSettings(boolean attached) {
+        boolean watch = attached && mMotionPolicy == MotionPolicy.SYSTEM;
+        if (watch == mWatchingMotionSettings) {
+            return;
+        }
+
+        mWatchingMotionSettings = watch;
+        if (watch) {
+            mSystemMotionReduced = MotionSettingsMonitor.get()
+                    .addListener(getContext(), mMotionSettingsListener);
+        } else {
+            MotionSettingsMonitor.get().removeListener(mMotionSettingsListener);
+        }
+    }
+
+    /**
+     * Resolves the motion policy into mMotionReduced, using mSystemMotionReduced for
+     * {@link MotionPolicy#SYSTEM}.  Called when either changes.
+     */
+    void updateMotionReduced() {
+        switch (mMotionPolicy) {
+            case FULL:
+                mMotionReduced = false;
+                break;
+            case REDUCED:
+                mMotionReduced = true;
+                break;
+            default:
+                mMotionReduced = mSystemMotionReduced;
+                break;
+        }
+        if (mMotionReduced) {
+            mEdgeScrollVelocity = 0;
+            finishAnimations();
+        }
+    }
+
+    /**
+     * @return alpha (0-255) for a tick at x when using {@link FadeMode#ALPHA}
+     */
+    int getFadeAlpha(float x) {
+        if (x <= mFadeLeftStart || x >= mFadeRightEnd) {
+            return 0;
+        } else if (x < mFadeLeftEnd) {
+            return (int) (255 * (x - mFadeLeftStart) / (mFadeLeftEnd - mFadeLeftStart));
+        } else if (x > mFadeRightStart) {
+            return (int) (255 * (mFadeRightEnd - x) / (mFadeRightEnd - mFadeRightStart));
+        }
+        return 255;
+    }
+
+    /**
+     * Scrolls the ticks while the dragger is held near either end, so values off screen can be
+     * reached in one drag.  On by default.
+     * @param enabled
+     */
+    public void setEdgeScrollEnabled(boolean enabled) {
+        mEdgeScrollEnabled = enabled;
+        if (!enabled) {
+            mEdgeScrollVelocity = 0;
+        }
+    }
+
+    public boolean isEdgeScrollEnabled() {
+        return mEdgeScrollEnabled;
+    }
+
+    /**
+     * Sets the edge scroll speed from how deep into either edge zone the (unclamped) dragger
+     * position is, and starts stepping frames if it's in one.
+     */
+    private void updateEdgeScroll(float xPos) {
+        // scrolling on its own needs frames
+        if (!mEdgeScrollEnabled || mEdgeScrollZone <= 0 || mMotionReduced) {
+            return;
+        }
+
+        float leftZoneEnd = mBaseLine.pointStart.x + mEdgeScrollZone;
+        float rightZoneStart = mBaseLine.pointEnd.x - mEdgeScrollZone;
+        float depth = 0;
+        if (xPos < leftZoneEnd) {
+            depth = -Math.min(1, (leftZoneEnd - xPos) / mEdgeScrollZone);
+        } else if (xPos > rightZoneStart) {
+            depth = Math.min(1, (xPos - rightZoneStart) / mEdgeScrollZone);
+        }
+        mEdgeScrollVelocity = depth * mEdgeScrollSpeed;
+        if (mEdgeScrollVelocity != 0) {
+            scheduleAnimation();
+        }
+    }
+
+    /**
+     * Moves the ticks under the held dragger by one frame of edge scrolling, stopping once the
+     * min/max value reaches the dragger.
+     * @return true if it scrolled
+     */
+    private boolean handleEdgeScroll(int elapsedMs) {
+        if (mEdgeScrollVelocity == 0 || mPointerId == -1 || mTickLines.isEmpty()) {
+            return false;
+        }
+
+        // ticks move the opposite way to the values
+        float delta = -mEdgeScrollVelocity * elapsedMs / 1000f;
+        float draggerX = mMutableDraggerBounds.centerX();
+        TickLineInfo first = mTickLines.get(0);
+        TickLineInfo last = mTickLines.get(mTickLines.size() - 1);
+        if (delta < 0 && last.value == mSliderInfo.mMaxValue) {
+            delta = Math.min(0, Math.max(delta, draggerX - (last.pointStart.x + xBarDrawOffset)));
+        } else if (delta > 0 && first.value == mSliderInfo.mMinValue) {
+            delta = Math.max(0, Math.min(delta, draggerX - (first.pointStart.x + xBarDrawOffset)));
+        }
+        if (delta == 0) {
+            return false;
+        }
+
+        setXOffset(xBarDrawOffset + delta, true);
+        int value = mAnimateStartValue +
+                Math.round((draggerX - xBarDrawOffset - mDraggerBounds.centerX()) / mTickIntervalWidth);
+        value = Math.max(mSliderInfo.mMinValue, Math.min(value, mSliderInfo.mMaxValue));
+        value = mSliderInfo.getNearestEnabledValue(value, mEdgeScrollVelocity > 0);
+        if (value != mCurrentValue) {
+            mCurrentValue = value;
+            startDwell(value);
+        }
+        return true;
+    }
+
+    /**
+     * Lets a two finger pinch change how many values are shown, see
+     * {@link #setIntervalsToEdge(float)}.  Off by default.
+     *
+     * A view only sees the second finger if it kept the first finger's ACTION_DOWN, so while
+     * zoom is enabled the slider keeps touches anywhere on it, not just on the dragger.  They
+     * don't move the slider, but they no longer reach the parent: a clickable parent won't get
+     * taps that land on the slider, though scrolling parents can still intercept.
+     * @param enabled
+     */
+    public void setZoomEnabled(boolean enabled) {
+        if (!enabled) {
+            mScaleDetector = null;
+        } else if (mScaleDetector == null) {
+            mScaleDetector = new ScaleGestureDetector(getContext(), new ZoomListener());
+            // double tap and drag would fight with dragging the dragger
+            mScaleDetector.setQuickScaleEnabled(false);
+        }
+    }
+
+    public boolean isZoomEnabled() {
+        return mScaleDetector != null;
+    }
+
+    /**
+     * Zooms so that intervalsToEdge values fit between the center and either edge, keeping the
+     * current value under the dragger.  {@link #setSliderInfo(SliderInfo)} resets this to the
+     * info's intervals to edge.
+     * @param intervalsToEdge clamped to between 1 and the slider's range
+     */
+    public void setIntervalsToEdge(float intervalsToEdge) {
+        float max = Math.max(mSliderInfo.mIntervalsToEdge, mSliderInfo.mMaxValue - mSliderInfo.mMinValue);
+        float clamped = Math.max(MIN_INTERVALS_TO_EDGE, Math.min(intervalsToEdge, max));
+        if (clamped == mIntervalsToEdge) {
+            return;
+        }
+
+        mIntervalsToEdge = clamped;
+        updateTickIntervalWidth();
+        if (mBaseLine == null || mInitTickLines) {
+            // nothing laid out yet, onLayout will use the new width
+            return;
+        }
+
+        if (mPointerId == -1 && !mIsAnimating && rescaleTickLines()) {
+            invalidate();
+        } else {
+            // mid gesture/animation, tick positions aren't centered, so start over
+            mInitTickLines = true;
+            requestLayout();
+        }
+    }
+
+    /**
+     * @return how many values currently fit between the center and either edge
+     */
+    public float getIntervalsToEdge() {
+        return mIntervalsToEdge;
+    }
+
+    private void updateTickIntervalWidth() {
+        if (mBaseLine == null) {
+            return;
+        }
+        mTickIntervalWidth = Math.abs(mBaseLine.getXDiff()) / (mIntervalsToEdge * 2);
+        updateLevelOfDetail();
+    }
+
+    /**
+     * Moves the existing ticks to the current {@link #mTickIntervalWidth} around the centered
+     * current value, drops those that no longer fit and adds those that now do.  Labels,
+     * gradients and drawables are all kept.
+     * @return false if the current value isn't laid out, and the ticks need to be re-created
+     */
+    private boolean rescaleTickLines() {
+        TickLineInfo current = getTickLineInfo(mCurrentValue);
+        if (current == null) {
+            return false;
+        }
+
+        normalizeXOffset();
+        float centerX = getMeasuredWidth() / 2;
+        float minX = mBaseLine.pointStart.x + BAR_ROUNDING_CONSTANT;
+        float maxX = mBaseLine.pointEnd.x - BAR_ROUNDING_CONSTANT;
+        int keepStart = mTickLines.size();
+        int keepEnd = 0;
+        for (int i = 0, size = mTickLines.size(); i < size; i++) {
+            TickLineInfo tickLine = mTickLines.get(i);
+            float x = centerX + (tickLine.value - mCurrentValue) * mTickIntervalWidth;
+            tickLine.pointStart.x = x;
+            tickLine.pointEnd.x = x;
+            if (x >= minX && x <= maxX) {
+                keepStart = Math.min(keepStart, i);
+                keepEnd = i + 1;
+            }
+        }
+        // ticks are sorted by x, so the ones that fit are a single run (which includes current)
+        mTickLines.subList(keepEnd, mTickLines.size()).clear();
+        mTickLines.subList(0, keepStart).clear();
+
+        // fill in towards the edges
+        setXOffset(0, true);
+        return true;
+    }
+
+    /**
+     * Picks how many values apart drawn ticks and labels are for the current tick spacing.  Only
+     * affects drawing; every value can still be selected.
+     */
+    void updateLevelOfDetail() {
+        int range = mSliderInfo.mMaxValue - mSliderInfo.mMinValue;
+        int largeTickInterval = mSliderInfo.mLargeTickInterval;
+        // small ticks go first, then large ticks thin out along with their labels
+        mTickStride = 1;
+        if (mTickIntervalWidth < mMinTickSpacing) {
+            mTickStride = getLevelOfDetailStride(largeTickInterval, mTickIntervalWidth, mMinTickSpacing, range);
+        }
+        mLabelStride = getLevelOfDetailStride(largeTickInterval,
+                mTickIntervalWidth * largeTickInterval, mMinLabelSpacing, range) * largeTickInterval;
+    }
+
+    /**
+     * @param interval stride grows by powers of this (or of 2, if it's smaller than that)
+     * @param spacing pixels between consecutive candidates at a stride of 1
+     * @param minSpacing pixels needed between drawn candidates
+     * @param limit stride isn't grown past this, since nothing more would be drawn anyway
+     * @return smallest power of interval whose spacing is at least minSpacing
+     */
+    static int getLevelOfDetailStride(int interval, float spacing, float minSpacing, int limit) {
+        int factor = Math.max(2, interval);
+        int stride = 1;
+        while (stride * spacing < minSpacing && stride <= limit / factor) {
+            stride *= factor;
+        }
+        return stride;
+    }
+
+    // Math.floorMod is api 24
+    private static int floorMod(int x, int y) {
+        int mod = x % y;
+        return mod < 0 ? mod + y : mod;
+    }
+
+    /**
+     * Copies where the dragger is currently drawn, e.g. to script touches on it.
+     * @param outRect set to the dragger's bounds, or emptied if the view hasn't been sized yet
+     */
+    public void getDraggerBounds(Rect outRect) {
+        if (mMutableDraggerBounds == null) {
+            outRect.setEmpty();
+        } else {
+            outRect.set(mMutableDraggerBounds);
+        }
+    }
+
+    /**
+     * Starts recording the touch events and frames this view sees into the given recorder,
+     * along with the current {@link SliderInfo} and size.  Pass null to stop recording.
+     * @param recorder
+     */
+    public void setGestureRecorder(@Nullable GestureTrace.Recorder recorder) {
+        mGestureRecorder = recorder;
+        if (recorder != null) {
+            recorder.begin(mSliderInfo, mCurrentValue, getWidth(), getHeight());
+        }
+    }
+
+    /**
+     * Replaces how ticks and their labels are drawn.
+     * @param renderer renderer to use, or null to restore the {@link DefaultTickRenderer}
+     */
+    public void setTickRenderer(@Nullable TickRenderer renderer) {
+        mTickRenderer = renderer != null ? renderer : DefaultTickRenderer.INSTANCE;
+        invalidate();
+    }
+
+    public TickRenderer getTickRenderer() {
+        return mTickRenderer;
     }
 
     public void addOnSliderListener(OnSliderListener listener) {
@@ -309,6 +1026,52 @@ public class CenterSliderView extends View {
         mListeners.remove(listener);
     }
 
+    /**
+     * Sets how long the dragger has to rest on a value during a drag before
+     * {@link OnSliderListener#onValueDwell(int, CancellationSignal)} is called.
+     * @param thresholdMs 0 to never call it
+     */
+    public void setDwellThreshold(int thresholdMs) {
+        mDwellThresholdMs = thresholdMs;
+        if (thresholdMs <= 0) {
+            endDwell(true);
+        }
+    }
+
+    public int getDwellThreshold() {
+        return mDwellThresholdMs;
+    }
+
+    /**
+     * Cancels whatever was started for the previous value and starts timing the new one.
+     */
+    private void startDwell(int value) {
+        endDwell(true);
+        mDwellValue = value;
+        if (mDwellThresholdMs > 0 && !mListeners.isEmpty()) {
+            mTimerHandler.postDelayed(mDwellRunnable, mDwellThresholdMs);
+        }
+    }
+
+    void endDwell(boolean cancel) {
+        mTimerHandler.removeCallbacks(mDwellRunnable);
+        if (mDwellSignal != null) {
+            if (cancel) {
+                mDwellSignal.cancel();
+            }
+            mDwellSignal = null;
+        }
+    }
+
+    void dispatchValueSelected() {
+        long domainValue = getCurrentDomainValue();
+        for (int i = 0; i < mListeners.size(); i++) {
+            OnSliderListener listener = mListeners.get(i);
+            listener.onValueSelected(mCurrentValue);
+            listener.onDomainValueSelected(domainValue);
+        }
+    }
+
     private TickLineInfo getTickLineInfo(int value) {
         if (mTickLines == null || mTickLines.isEmpty()) {
             return null;
@@ -361,7 +1124,7 @@ public class CenterSliderView extends View {
     protected void onLayout(boolean changed, int left, int top, int right, int bottom) {
         super.onLayout(changed, left, top, right, bottom);
 
-        if (mInitTickLines) {
+        if (mInitTickLines && mPreviewCache == null) {
             mInitTickLines = false;
             initializeTickLines(right - left);
             resetCenterAlignment();
@@ -393,8 +1156,8 @@ public class CenterSliderView extends View {
             PointF end = new PointF(w-getPaddingRight(), mBaselineHeight);
             mBaseLine = new LineInfo(start, end);
 
-            int totalIntervals = mSliderInfo.mIntervalsToEdge * 2;
-            mTickIntervalWidth = Math.abs(mBaseLine.getXDiff()) / totalIntervals;
+            float totalIntervals = mIntervalsToEdge * 2;
+            updateTickIntervalWidth();
 
             mInitTickLines = true;
 
@@ -422,8 +1185,11 @@ public class CenterSliderView extends View {
                     gradientPoints,
                     Shader.TileMode.CLAMP);
 
-            mBaseLinePaint.setShader(mBaseLineGradient);
-            mBaseLineTextPaint.setShader(mBaseLineTextGradient);
+            mFadeLeftStart = leftEdge * w;
+            mFadeLeftEnd = leftStart * w;
+            mFadeRightStart = rightEnd * w;
+            mFadeRightEnd = rightEdge * w;
+            applyFadeMode();
 
             mDraggerBounds =
                     new Rect(w / 2 - mDraggerWidth / 2,  // left
@@ -431,8 +1197,6 @@ public class CenterSliderView extends View {
                             w / 2 + mDraggerWidth / 2,   // right
                             mBaselineHeight + mDraggerHeight / 2); // bottom
             mMutableDraggerBounds = new Rect(mDraggerBounds);
-            mDraggerBeforeDrawable.setBounds(mMutableDraggerBounds);
-            mDraggerAfterDrawable.setBounds(mMutableDraggerBounds);
 
             int halfWidth =
                     (int) (mTooltipTextPaint.measureText(getCurrentValueStringUnits()) / 2) + mTooltipTextPadding;
@@ -441,41 +1205,306 @@ public class CenterSliderView extends View {
                             mDraggerBounds.top - mTooltipHeight - mTooltipAboveDragger, // t
                             w / 2 + halfWidth, // r
                             mDraggerBounds.top - mTooltipAboveDragger); // b
-            mTooltipDrawable.setBounds(mTooltipBounds);
 
             // precalculate this, so we don't have to do math every time in onDraw
             mTooltipWidthDiff = mTooltipBounds.left - mDraggerBounds.left;
+
+            if (mDraggerBeforeDrawable != null) {
+                mDraggerBeforeDrawable.setBounds(mMutableDraggerBounds);
+                mDraggerAfterDrawable.setBounds(mMutableDraggerBounds);
+                mTooltipDrawable.setBounds(mTooltipBounds);
+            } else if (mPreviewCache == null) {
+                ensureDrawables();
+            }
         }
     }
 
     @Override
     protected void onDraw(Canvas canvas) {
         super.onDraw(canvas);
+        if (mPreviewCache != null) {
+            drawPreview(canvas, mPreviewCache);
+            return;
+        }
+        if (mGestureRecorder != null) {
+            mGestureRecorder.recordFrame(SystemClock.uptimeMillis());
+        }
+        drawSlider(canvas);
+    }
+
+    private void drawPreview(Canvas canvas, SliderPreviewCache cache) {
+        int width = getWidth();
+        int height = getHeight();
+        if (width == 0 || height == 0 || mBaseLine == null) {
+            return;
+        }
+
+        SliderPreviewCache.Key key = mPreviewKey;
+        key.mSliderInfo = mSliderInfo;
+        key.mValue = mCurrentValue;
+        key.mWidth = width;
+        key.mHeight = height;
+        key.mPaddingLeft = getPaddingLeft();
+        key.mPaddingTop = getPaddingTop();
+        key.mPaddingRight = getPaddingRight();
+        key.mPaddingBottom = getPaddingBottom();
+        key.mIntervalsToEdge = mIntervalsToEdge;
+        key.mFadeMode = mFadeMode;
+        key.mTickRenderer = mTickRenderer;
+        key.mStyle = mStyle;
+        key.mIntensitiesVersion = mIntensitiesVersion;
+
+        Bitmap bitmap = cache.get(key);
+        if (bitmap == null) {
+            bitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+            // build the live state just long enough to draw it once
+            boolean hadDrawables = mDraggerBeforeDrawable != null;
+            ensureDrawables();
+            initializeTickLines(width);
+            resetCenterAlignment();
+            drawSlider(new Canvas(bitmap));
+            releaseLiveState(!hadDrawables);
+            cache.put(key.copy(), bitmap);
+        }
+        canvas.drawBitmap(bitmap, 0, 0, null);
+    }
+
+    /**
+     * Drops what's only needed to draw or interact with the live slider.
+     */
+    private void releaseLiveState(boolean dropDrawables) {
+        mTickLines.clear();
+        mInitTickLines = true;
+        if (dropDrawables) {
+            mDraggerDrawable = null;
+            mDraggerBeforeDrawable = null;
+            mDraggerAfterDrawable = null;
+            mTooltipDrawable = null;
+        }
+    }
+
+    /**
+     * Draws the slider as a bitmap from the shared cache, instead of keeping ticks and drawables
+     * around, e.g. for rows of a read-only list.  Sliders showing the same
+     * {@link SliderInfo} and value at the same size share a single bitmap.  The first touch, or
+     * {@link #exitPreviewMode()}, turns it back into a live slider.
+     * @param cache cache shared by the sliders on screen
+     */
+    public void enterPreviewMode(SliderPreviewCache cache) {
+        finishAnimations();
+        if (mPointerId != -1) {
+            endDwell(true);
+            mPointerId = -1;
+        }
+        mPreviewCache = cache;
+        releaseLiveState(true);
+        invalidate();
+    }
+
+    /**
+     * Rebuilds the live slider, if it was in preview mode.
+     */
+    public void exitPreviewMode() {
+        if (mPreviewCache == null) {
+            return;
+        }
+
+        mPreviewCache = null;
+        ensureDrawables();
+        if (mBaseLine != null) {
+            mInitTickLines = false;
+            initializeTickLines(getWidth());
+            resetCenterAlignment();
+        }
+        invalidate();
+    }
+
+    public boolean isPreviewMode() {
+        return mPreviewCache != null;
+    }
+
+    /**
+     * Draws the intensity band as one rect per run of visible values with the same alpha.  With
+     * dense ticks, each level of detail stride is drawn at the highest intensity inside it.
+     */
+    private void drawIntensities(Canvas canvas) {
+        float[] intensities = mIntensities;
+        int stride = mTickStride;
+        int baseAlpha = Color.alpha(mIntensityColor);
+        float width = mTickIntervalWidth;
+        float top = mBaselineHeight;
+        float bottom = mBaselineHeight + mIntensityHeight;
+        TickLineInfo first = mTickLines.get(0);
+        float firstX = first.pointStart.x + xBarDrawOffset;
+        int size = mTickLines.size();
+        int index = first.value - mSliderInfo.mMinValue; // of the first tick in mIntensities
+
+        // groups line up with the drawn ticks, starting with a partial one on the left
+        int i = floorMod(mSliderInfo.mStartValue - first.value, stride);
+        if (i > 0) {
+            i -= stride;
+        }
+        int runAlpha = 0;
+        float runLeft = 0, runRight = 0;
+        for (; i < size; i += stride) {
+            int groupStart = Math.max(i, 0);
+            int groupEnd = Math.min(i + stride, size);
+            float intensity = 0;
+            for (int k = Math.max(index + groupStart, 0), end = Math.min(index + groupEnd, intensities.length); k < end; k++) {
+                intensity = Math.max(intensity, intensities[k]);
+            }
+            float x = firstX + i * width;
+            int alpha = (int) (baseAlpha * Math.max(0, Math.min(1, intensity)) * getFadeAlpha(x) / 255);
+
+            float left = firstX + (groupStart - 0.5f) * width;
+            if (alpha != runAlpha) {
+                if (runAlpha > 0) {
+                    mIntensityPaint.setAlpha(runAlpha);
+                    canvas.drawRect(runLeft, top, runRight, bottom, mIntensityPaint);
+                }
+                runAlpha = alpha;
+                runLeft = left;
+            }
+            runRight = firstX + (groupEnd - 0.5f) * width;
+        }
+        if (runAlpha > 0) {
+            mIntensityPaint.setAlpha(runAlpha);
+            canvas.drawRect(runLeft, top, runRight, bottom, mIntensityPaint);
+        }
+    }
+
+    /**
+     * Shows a band under the baseline whose opacity follows the given series, e.g. courier
+     * availability per minute.  It scrolls with the ticks.
+     * @param intensities 0-1 for each value from the {@link SliderInfo}'s min value on, or null
+     *                    to remove the band; copied
+     */
+    public void setIntensities(@Nullable float[] intensities) {
+        mIntensities = intensities != null ? intensities.clone() : null;
+        onIntensitiesChanged();
+        invalidate();
+    }
+
+    /**
+     * Like {@link #setIntensities(float[])}, scaling each count by max.
+     */
+    public void setIntensities(@Nullable int[] counts, int max) {
+        if (counts == null) {
+            setIntensities((float[]) null);
+            return;
+        }
+        if (max <= 0) {
+            throw new IllegalArgumentException("max must be > 0: " + max);
+        }
+
+        float[] intensities = new float[counts.length];
+        for (int i = 0; i < counts.length; i++) {
+            intensities[i] = (float) counts[i] / max;
+        }
+        mIntensities = intensities;
+        onIntensitiesChanged();
+        invalidate();
+    }
 
+    /**
+     * Replaces part of the series set with {@link #setIntensities(float[])}, growing it if
+     * needed.  Only redraws the band under changed values that are on screen.
+     * @param fromValue slider value the first of the new intensities belongs to
+     */
+    public void updateIntensities(int fromValue, float[] intensities, int offset, int count) {
+        int start = fromValue - mSliderInfo.mMinValue;
+        if (start < 0) {
+            throw new IllegalArgumentException("value " + fromValue + " < min " + mSliderInfo.mMinValue);
+        }
+
+        if (mIntensities == null) {
+            mIntensities = new float[start + count];
+        } else if (mIntensities.length < start + count) {
+            mIntensities = Arrays.copyOf(mIntensities, start + count);
+        }
+        System.arraycopy(intensities, offset, mIntensities, start, count);
+        onIntensitiesChanged();
+
+        if (!mTickLines.isEmpty() && count > 0) {
+            TickLineInfo firstTick = mTickLines.get(0);
+            int firstVisible = firstTick.value;
+            int lastVisible = mTickLines.get(mTickLines.size() - 1).value;
+            int first = Math.max(fromValue, firstVisible);
+            int last = Math.min(fromValue + count - 1, lastVisible);
+            if (first <= last) {
+                // each level of detail stride is drawn at its highest intensity, so a changed
+                // value can repaint up to a stride either side of it
+                float firstX = firstTick.pointStart.x + xBarDrawOffset;
+                float margin = mTickStride * mTickIntervalWidth;
+                invalidate((int) Math.floor(firstX + (first - firstVisible) * mTickIntervalWidth - margin),
+                        mBaselineHeight,
+                        (int) Math.ceil(firstX + (last - firstVisible) * mTickIntervalWidth + margin),
+                        mBaselineHeight + mIntensityHeight);
+            }
+        } else if (mPreviewCache != null) {
+            // no ticks are kept in preview mode, so redraw and let the cache sort it out
+            invalidate();
+        }
+    }
+
+    private void onIntensitiesChanged() {
+        mIntensitiesVersion = mIntensities != null ? sLastIntensitiesVersion.incrementAndGet() : 0;
+    }
+
+    private void drawSlider(Canvas canvas) {
         float start = mBaseLine.pointStart.x;
         float end = mBaseLine.pointEnd.x;
         // draw tick lines (and text below)
-        if (mTickLines != null) {
-            for (TickLineInfo tickLine : mTickLines) {
-                if (tickLine.value == mSliderInfo.mMinValue) {
-                    start = tickLine.pointStart.x + xBarDrawOffset;
-                } else if (tickLine.value == mSliderInfo.mMaxValue) {
-                    end = tickLine.pointEnd.x + xBarDrawOffset;
+        if (mTickLines != null && !mTickLines.isEmpty()) {
+            // ticks are consecutive values, so the baseline's ends only depend on the outer two
+            TickLineInfo firstTick = mTickLines.get(0);
+            TickLineInfo lastTick = mTickLines.get(mTickLines.size() - 1);
+            if (firstTick.value == mSliderInfo.mMinValue) {
+                start = firstTick.pointStart.x + xBarDrawOffset;
+            }
+            if (lastTick.value == mSliderInfo.mMaxValue) {
+                end = lastTick.pointStart.x + xBarDrawOffset;
+            }
+
+            if (mIntensities != null) {
+                drawIntensities(canvas);
+            }
+
+            TickRenderer renderer = mTickRenderer;
+            TickRenderer.Scratch scratch = mTickScratch;
+            scratch.domain = mSliderInfo.mDomain;
+            boolean alphaFade = mFadeMode == FadeMode.ALPHA;
+            int tickStride = mTickStride;
+            int labelStride = mLabelStride;
+            SliderInfo info = mSliderInfo;
+            int startValue = info.mStartValue;
+            // jump straight between drawn ticks, so the cost follows the stride, not the values
+            int i = floorMod(startValue - firstTick.value, tickStride);
+            // indexed loop, an iterator would allocate every frame
+            for (int size = mTickLines.size(); i < size; i += tickStride) {
+                TickLineInfo tickLine = mTickLines.get(i);
+                float x = tickLine.pointStart.x + xBarDrawOffset;
+                int alpha = 255;
+                if (alphaFade) {
+                    alpha = getFadeAlpha(x);
+                    if (alpha == 0) {
+                        // fully faded, don't pay for the line or text
+                        continue;
+                    }
                 }
-                canvas.drawLine(
-                        tickLine.pointStart.x + xBarDrawOffset,
-                        tickLine.pointStart.y,
-                        tickLine.pointEnd.x + xBarDrawOffset,
-                        tickLine.pointEnd.y,
-                        mBaseLinePaint);
-                if (tickLine.text != null) {
-                    canvas.drawText(
-                            tickLine.text,
-                            tickLine.pointStart.x + xBarDrawOffset,
-                            tickLine.pointEnd.y + mTickTextYOffset,
-                            mBaseLineTextPaint);
+                if (!info.isEnabled(tickLine.value)) {
+                    alpha = alpha * DISABLED_TICK_ALPHA / 255;
                 }
+                scratch.label = labelStride == 1 || (tickLine.value - startValue) % labelStride == 0 ?
+                        tickLine.text : null;
+                renderer.drawTick(canvas, x, tickLine.pointStart.y, tickLine.value, tickLine.isLarge,
+                        alpha, scratch);
             }
+            scratch.label = null;
+            // renderers may have faded the shared paints
+            mBaseLinePaint.setAlpha(scratch.lineAlpha);
+            mTickLinePaint.setAlpha(scratch.lineAlpha);
+            mBaseLineTextPaint.setAlpha(scratch.textAlpha);
         }
 
         if (mBaseLine != null) {
@@ -502,6 +1531,17 @@ public class CenterSliderView extends View {
 
     @Override
     public boolean onTouchEvent(MotionEvent event) {
+        if (mGestureRecorder != null) {
+            mGestureRecorder.recordEvent(event);
+        }
+
+        if (mScaleDetector != null) {
+            mScaleDetector.onTouchEvent(event);
+            if (mScaleDetector.isInProgress()) {
+                return true;
+            }
+        }
+
         final int action = event.getActionMasked();
 
         int pointerIndex = event.getActionIndex();
@@ -510,64 +1550,75 @@ public class CenterSliderView extends View {
         switch (action) {
             case MotionEvent.ACTION_DOWN:
                 // don't allow multiple down events or "fast" moving animations
-                if (this.mPointerId != -1 || mIsAnimating) {
+                if (this.mPointerId != -1 || mIsAnimating || mDraggerBounds == null) {
                     return false;
                 }
                 mStartX = event.getX(pointerIndex);
                 float startY = event.getY(pointerIndex);
-                int left = Math.max(mDraggerBounds.left, mTooltipBounds.left);
-                int right = Math.min(mDraggerBounds.right, mTooltipBounds.right);
-                if (mStartX + mScaledWindowTouchSlop > left &&
-                        mStartX - mScaledWindowTouchSlop < right &&
-                        startY + mScaledWindowTouchSlop > mTooltipBounds.top &&
-                        startY - mScaledWindowTouchSlop < mDraggerBounds.bottom) {
-                    mAnimateStartValue = mCurrentValue;
-                    this.mPointerId = pointerId;
-                    queueDraggerAnimation(true);
-                    invalidate();
+                getTouchBounds(mTouchBounds);
+                if (!(mStartX > mTouchBounds.left && mStartX < mTouchBounds.right &&
+                        startY > mTouchBounds.top && startY < mTouchBounds.bottom)) {
+                    // not ours, so parents get the rest of the gesture; unless it may still
+                    // turn into a pinch, which we'd never see without keeping this down (see
+                    // setZoomEnabled)
+                    return mScaleDetector != null;
+                }
+
+                if (mPreviewCache != null) {
+                    // turn into the real thing, then handle the touch as usual
+                    exitPreviewMode();
                 }
+                mGestureDragMode = mDragMode;
+                mAnimateStartValue = mCurrentValue;
+                this.mPointerId = pointerId;
+                mDownX = mStartX;
+                mDownY = startY;
+                mLastX = mStartX;
+                mDragClaimed = false;
+                mDragOverflow = 0;
+                startNestedScroll(SCROLL_AXIS_HORIZONTAL);
+                startDwell(mCurrentValue);
+                queueDraggerAnimation(true);
+                invalidate();
                 break;
 
             case MotionEvent.ACTION_MOVE:
                 if (pointerId == this.mPointerId) {
-                    // positive vector
-                    float move = event.getX(pointerIndex) - mStartX;
-
-                    float xPos = mDraggerBounds.centerX() + (int) move;
-                    TickLineInfo firstTick = mTickLines.get(0);
-                    TickLineInfo lastTick = mTickLines.get(mTickLines.size()-1);
-
-                    float max = lastTick.pointStart.x;
-                    float min = firstTick.pointEnd.x;
-                    if (xPos <= min) {
-                        xPos = min;
-                    } else if (xPos >= max) {
-                        xPos = max;
+                    float x = event.getX(pointerIndex);
+                    if (!mDragClaimed) {
+                        // the drag follows the finger right away, but parents may still take
+                        // the gesture as a scroll until it's clearly horizontal
+                        float distanceX = Math.abs(x - mDownX);
+                        if (distanceX > mTouchSlop &&
+                                distanceX > Math.abs(event.getY(pointerIndex) - mDownY) &&
+                                getParent() != null) {
+                            getParent().requestDisallowInterceptTouchEvent(true);
+                            mDragClaimed = true;
+                        }
                     }
 
-                    // need to floor/ceiling around animateStartValue based on move
-                    float intervals;
-                    if (move > 0) {
-                        intervals = (xPos - getPaddingLeft() + DRAGGER_ROUNDING_CONSTANT)/ mTickIntervalWidth;
-                        mCurrentValue =
-                                mAnimateStartValue
-                                        + (int) Math.floor(intervals)
-                                        - mSliderInfo.mIntervalsToEdge;
-                    } else {
-                        intervals = (xPos - getPaddingLeft() - DRAGGER_ROUNDING_CONSTANT)/ mTickIntervalWidth;
-                        mCurrentValue =
-                                mAnimateStartValue
-                                        + (int) Math.ceil(intervals)
-                                        - mSliderInfo.mIntervalsToEdge;
+                    // nested scrolling parents get the first pick of the movement; dx is in
+                    // scroll direction, i.e. positive when the finger moves left
+                    int dx = Math.round(mLastX - x);
+                    mLastX = x;
+                    if (dispatchNestedPreScroll(dx, 0, mNestedConsumed, null)) {
+                        mStartX -= mNestedConsumed[0];
+                        dx -= mNestedConsumed[0];
                     }
 
-                    int draggerOffset = (int) xPos - mDraggerBounds.width()/2;
-                    mMutableDraggerBounds.offsetTo(draggerOffset, mDraggerBounds.top);
-                    mDraggerDrawable.setBounds(mMutableDraggerBounds);
+                    // positive vector
+                    float move = x - mStartX;
+                    float overflow;
+                    if (mGestureDragMode == DragMode.RIBBON) {
+                        overflow = dragRibbon(move);
+                    } else {
+                        overflow = dragDragger(move);
+                    }
 
-                    mTooltipBounds.offsetTo(draggerOffset + mTooltipWidthDiff, mTooltipBounds.top);
-                    mTooltipDrawable.setBounds(mTooltipBounds);
-                    invalidate();
+                    // movement past the min/max goes back up to the parents
+                    int dxUnconsumed = Math.round(mDragOverflow - overflow);
+                    mDragOverflow = overflow;
+                    dispatchNestedScroll(dx - dxUnconsumed, 0, dxUnconsumed, 0, null);
                 }
 
                 break;
@@ -575,21 +1626,149 @@ public class CenterSliderView extends View {
             case MotionEvent.ACTION_UP:
                 // reset
                 if (pointerId == this.mPointerId) {
-                    for (OnSliderListener listener : mListeners) {
-                        listener.onValueSelected(mCurrentValue);
-                    }
+                    mEdgeScrollVelocity = 0;
+                    stopNestedScroll();
+                    // work started for the value that ends up selected is still wanted
+                    endDwell(mCurrentValue != mDwellValue);
+                    dispatchValueSelected();
                     queueDraggerAnimation(false);
-                    queueCenterAnimation();
+                    // a ribbon drag only needs to settle the selected tick under the dragger
+                    queueCenterAnimation(mGestureDragMode == DragMode.RIBBON ?
+                            mSnapAnimationDurationMs : mCenterAnimationDurationMs);
                     invalidate();
                     this.mPointerId = -1;
                 }
                 break;
+
+            case MotionEvent.ACTION_CANCEL:
+                // usually a parent took over the gesture as a scroll
+                if (this.mPointerId != -1) {
+                    cancelDrag();
+                }
+                break;
         }
 
         // eat motion events
         return true;
     }
 
+    /**
+     * Where an ACTION_DOWN has to land to start a drag: over the dragger and tooltip, or anywhere
+     * along the baseline for {@link DragMode#RIBBON}, give or take the window touch slop.
+     * Expects mDraggerBounds to be set.
+     */
+    void getTouchBounds(RectF out) {
+        float left, right, bottom;
+        if (mDragMode == DragMode.RIBBON) {
+            // the ticks can be grabbed anywhere along the baseline
+            left = mBaseLine.pointStart.x;
+            right = mBaseLine.pointEnd.x;
+            bottom = getHeight() - getPaddingBottom();
+        } else {
+            left = Math.max(mDraggerBounds.left, mTooltipBounds.left);
+            right = Math.min(mDraggerBounds.right, mTooltipBounds.right);
+            bottom = mDraggerBounds.bottom;
+        }
+        out.set(left - mScaledWindowTouchSlop, mTooltipBounds.top - mScaledWindowTouchSlop,
+                right + mScaledWindowTouchSlop, bottom + mScaledWindowTouchSlop);
+    }
+
+    /**
+     * Moves the dragger and tooltip with the finger for {@link DragMode#DRAGGER}.
+     * @param move distance from the ACTION_DOWN position
+     * @return how far the finger is past the min/max value, or 0
+     */
+    private float dragDragger(float move) {
+        float xPos = mDraggerBounds.centerX() + (int) move;
+        updateEdgeScroll(xPos);
+        TickLineInfo firstTick = mTickLines.get(0);
+        TickLineInfo lastTick = mTickLines.get(mTickLines.size()-1);
+
+        // ticks are offset while edge scrolling
+        float max = lastTick.pointStart.x + xBarDrawOffset;
+        float min = firstTick.pointEnd.x + xBarDrawOffset;
+        // only past the actual min/max; anything else is edge scrolling's
+        float overflow = 0;
+        if (xPos <= min) {
+            if (firstTick.value == mSliderInfo.mMinValue) {
+                overflow = xPos - min;
+            }
+            xPos = min;
+        } else if (xPos >= max) {
+            if (lastTick.value == mSliderInfo.mMaxValue) {
+                overflow = xPos - max;
+            }
+            xPos = max;
+        }
+
+        // need to floor/ceiling around animateStartValue based on move; measured from the
+        // dragger's center, where initializeTickLines puts the start value (plus any edge
+        // scrolling), which may be a fractional number of intervals from the edge when zoomed
+        float fromCenter = xPos - xBarDrawOffset - mDraggerBounds.centerX();
+        float intervals;
+        if (move > 0) {
+            intervals = (fromCenter + DRAGGER_ROUNDING_CONSTANT)/ mTickIntervalWidth;
+            mCurrentValue = mAnimateStartValue + (int) Math.floor(intervals);
+        } else {
+            intervals = (fromCenter - DRAGGER_ROUNDING_CONSTANT)/ mTickIntervalWidth;
+            mCurrentValue = mAnimateStartValue + (int) Math.ceil(intervals);
+        }
+        // the dragger follows the finger, but the value skips disabled ones
+        mCurrentValue = mSliderInfo.getNearestEnabledValue(mCurrentValue, move > 0);
+        if (mCurrentValue != mDwellValue) {
+            startDwell(mCurrentValue);
+        }
+
+        int draggerOffset = (int) xPos - mDraggerBounds.width()/2;
+        mMutableDraggerBounds.offsetTo(draggerOffset, mDraggerBounds.top);
+        mDraggerDrawable.setBounds(mMutableDraggerBounds);
+
+        mTooltipBounds.offsetTo(draggerOffset + mTooltipWidthDiff, mTooltipBounds.top);
+        mTooltipDrawable.setBounds(mTooltipBounds);
+        invalidate();
+        return overflow;
+    }
+
+    /**
+     * Ends a drag whose ACTION_UP won't come, putting the dragger back without a selection.
+     */
+    private void cancelDrag() {
+        endDwell(true);
+        mPointerId = -1;
+        mEdgeScrollVelocity = 0;
+        stopNestedScroll();
+        // back to the value the drag started from, if its tick is still around
+        if (getTickLineInfo(mAnimateStartValue) != null) {
+            mCurrentValue = mAnimateStartValue;
+        }
+        queueDraggerAnimation(false);
+        queueCenterAnimation(mCenterAnimationDurationMs);
+        invalidate();
+    }
+
+    /**
+     * Moves the ticks with the finger for {@link DragMode#RIBBON}.  The dragger and tooltip stay
+     * where they are; the value is the tick closest to the center, which held the start value
+     * when the drag began.
+     * @param move distance from the ACTION_DOWN position
+     * @return how far the finger is past the min/max value, or 0
+     */
+    private float dragRibbon(float move) {
+        // clamped so the min/max tick can't pass the center
+        setXOffset(move, false);
+
+        int value = mAnimateStartValue + Math.round(-xBarDrawOffset / mTickIntervalWidth);
+        value = Math.max(mSliderInfo.mMinValue, Math.min(value, mSliderInfo.mMaxValue));
+        // ticks moving left bring larger values to the center
+        mCurrentValue = mSliderInfo.getNearestEnabledValue(value, move < 0);
+        if (mCurrentValue != mDwellValue) {
+            startDwell(mCurrentValue);
+        }
+        invalidate();
+        // setXOffset only holds the ticks back at the min/max
+        return move - xBarDrawOffset;
+    }
+
     /**
      * Whenever we need to move the bar, use this to offset the x position.
      *
@@ -627,9 +1806,12 @@ public class CenterSliderView extends View {
         float firstPos = first.pointStart.x + offset;
         float prePos = firstPos - mTickIntervalWidth;
         value = first.value - 1;
-        // remove first if item pushed off screen
+        // remove whatever was pushed off screen; edge scrolling can push several per frame
         if (firstPos < mBaseLine.pointStart.x) {
-            mTickLines.remove(0);
+            while (mTickLines.size() > 1 &&
+                    mTickLines.get(0).pointStart.x + offset < mBaseLine.pointStart.x) {
+                mTickLines.remove(0);
+            }
         } else if (prePos > mBaseLine.pointStart.x) {
             // account for moving more frames than a single tickIntervalWidth
             while (prePos - BAR_ROUNDING_CONSTANT > mBaseLine.pointStart.x &&
@@ -647,9 +1829,12 @@ public class CenterSliderView extends View {
         float lastPos = last.pointStart.x + offset;
         float postPos = lastPos + mTickIntervalWidth;
         value = last.value + 1;
-        // remove last if item pushed off screen
+        // remove whatever was pushed off screen
         if (lastPos > mBaseLine.pointEnd.x && mTickLines.size() > 0) {
-            mTickLines.remove(mTickLines.size() - 1);
+            while (mTickLines.size() > 1 &&
+                    mTickLines.get(mTickLines.size() - 1).pointStart.x + offset > mBaseLine.pointEnd.x) {
+                mTickLines.remove(mTickLines.size() - 1);
+            }
         } else if (postPos < mBaseLine.pointEnd.x) {
             // account for moving more frames than a single tickIntervalWidth
             while (postPos + BAR_ROUNDING_CONSTANT < mBaseLine.pointEnd.x &&
@@ -665,25 +1850,17 @@ public class CenterSliderView extends View {
 
     private TickLineInfo createTickLineInfo(PointF start, int value) {
         PointF end;
-        String text = null;
-        int diff = value - mSliderInfo.mStartValue;
         // check if this should have a large tick
-        if (Math.abs(diff) % mSliderInfo.mLargeTickInterval == 0) {
+        boolean isLarge = mSliderInfo.isLargeTick(value);
+        if (isLarge) {
             end = new PointF(start.x, mBaselineHeight + mLargeTickHeight);
-            if (mSliderInfo.mTextOverrides.get(value) != null) {
-                text = mSliderInfo.mTextOverrides.get(value);
-            } else {
-                // locale shouldn't matter for formatting a number
-                text = String.format(Locale.getDefault(), "%+d", diff);
-            }
         } else {
             end = new PointF(start.x, mBaselineHeight + mSmallTickHeight);
         }
 
         TickLineInfo lineInfo = new TickLineInfo(start, end);
-        if (text != null) {
-            lineInfo.text = text;
-        }
+        lineInfo.text = mSliderInfo.getTickLabel(value, mLabelBuilder);
+        lineInfo.isLarge = isLarge;
         lineInfo.value = value;
         return lineInfo;
     }
@@ -716,6 +1893,12 @@ public class CenterSliderView extends View {
     //
 
     private void queueDraggerAnimation(boolean start) {
+        // the dragger stays put while the ribbon moves, so only its state changes
+        if (!mAnimateDragger || mGestureDragMode == DragMode.RIBBON) {
+            jumpDragger(start);
+            return;
+        }
+
         AnimationValue animationValue = start ?
                 AnimationValue.DRAGGER_BEFORE : AnimationValue.DRAGGER_AFTER;
         AnimationValue queueValue = mDraggerQueue.peek();
@@ -725,11 +1908,156 @@ public class CenterSliderView extends View {
         }
 
         mDraggerQueue.add(animationValue);
+        scheduleAnimation();
+    }
+
+    /**
+     * Shows the dragger's expanded or resting state straight away, without its AVD.
+     */
+    private void jumpDragger(boolean expanded) {
+        mDraggerQueue.clear();
+        mRunningAnimations.remove(AnimationType.DRAGGER);
+        mDraggerBeforeDrawable.reset();
+        mDraggerAfterDrawable.reset();
+        // the "after" AVD starts out expanded, the "before" one at rest
+        mDraggerDrawable = expanded ? mDraggerAfterDrawable : mDraggerBeforeDrawable;
+        invalidate();
+    }
+
+    /**
+     * Starts stepping frames if they aren't already running.
+     */
+    private void scheduleAnimation() {
+        if (mIsAnimating) {
+            return;
+        }
+
+        mIsAnimating = true;
+        if (mMotionReduced) {
+            // straight to the end state, without frames
+            finishAnimations();
+        } else if (mFrameDriver != null) {
+            mFrameDriver.onAnimationRequested(this);
+        } else if (mFramesAllowed) {
+            mLastFrameTimeMs = AnimationUtils.currentAnimationTimeMillis();
+            postOnAnimation(mAnimationRunnable);
+        } else {
+            // nobody would see the frames
+            finishAnimations();
+        }
+    }
 
+    /**
+     * Jumps every running and queued animation to where it would end, without stepping frames.
+     */
+    void finishAnimations() {
         if (!mIsAnimating) {
-            mIsAnimating = true;
-            sHandler.postDelayed(mAnimationRunnable, MS_PER_FRAME);
+            return;
+        }
+
+        // the dragger ends expanded if the last thing it was asked to do was expand
+        AnimationValue lastDragger = mRunningAnimations.remove(AnimationType.DRAGGER);
+        for (AnimationValue value : mDraggerQueue) {
+            lastDragger = value;
+        }
+        mDraggerQueue.clear();
+        if (lastDragger != null) {
+            mDraggerDrawable = lastDragger == AnimationValue.DRAGGER_BEFORE ?
+                    mDraggerAfterDrawable : mDraggerBeforeDrawable;
+        }
+
+        if (mRunningAnimations.remove(AnimationType.CENTER) != null && !mTickLines.isEmpty()) {
+            setXOffset(xBarDistance, false);
+            resetCenterAlignment();
+        } else {
+            mDraggerBeforeDrawable.reset();
+            mDraggerAfterDrawable.reset();
+        }
+
+        mIsAnimating = false;
+        if (mFrameDriver == null) {
+            // a frame that's still posted would otherwise start a second chain on the next request
+            removeCallbacks(mAnimationRunnable);
+        }
+        invalidate();
+    }
+
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+        watchMotionSettings(true);
+        updateMotionReduced();
+        // don't lay out the old info only to replace it on the next message
+        applyPublishedSliderInfo();
+        setFramesAllowed(isShown() && getWindowVisibility() == VISIBLE);
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        watchMotionSettings(false);
+        setFramesAllowed(false);
+        if (mPointerId != -1) {
+            // the rest of the gesture won't come
+            cancelDrag();
+        }
+    }
+
+    @Override
+    protected void onVisibilityChanged(View changedView, int visibility) {
+        super.onVisibilityChanged(changedView, visibility);
+        // also covers ancestors, on apis without onVisibilityAggregated
+        setFramesAllowed(isAttachedToWindow() && isShown() && getWindowVisibility() == VISIBLE);
+    }
+
+    @Override
+    protected void onWindowVisibilityChanged(int visibility) {
+        super.onWindowVisibilityChanged(visibility);
+        setFramesAllowed(isAttachedToWindow() && isShown() && visibility == VISIBLE);
+    }
+
+    @Override
+    public void onVisibilityAggregated(boolean isVisible) {
+        // only called on N+
+        super.onVisibilityAggregated(isVisible);
+        setFramesAllowed(isAttachedToWindow() && isVisible);
+    }
+
+    private void setFramesAllowed(boolean allowed) {
+        if (mFramesAllowed == allowed) {
+            return;
+        }
+
+        mFramesAllowed = allowed;
+        if (!allowed && mFrameDriver == null) {
+            removeCallbacks(mAnimationRunnable);
+            finishAnimations();
+        }
+    }
+
+    /**
+     * Steps all running animations by one 60 fps frame.
+     * @return true if animations are still running and another frame is needed
+     */
+    boolean doAnimationFrame() {
+        return doAnimationFrame(MS_PER_FRAME);
+    }
+
+    /**
+     * Steps all running animations by elapsedMs.
+     * @return true if animations are still running and another frame is needed
+     */
+    boolean doAnimationFrame(int elapsedMs) {
+        boolean isDraggerRunning = handleDraggerAnimation();
+        boolean isBaseLineRunning = handleCenterAnimation(elapsedMs);
+        boolean isEdgeScrolling = handleEdgeScroll(elapsedMs);
+        boolean hasAnimationsRunning = isDraggerRunning || isBaseLineRunning || isEdgeScrolling;
+        if (hasAnimationsRunning) {
+            invalidate();
+        } else {
+            mIsAnimating = false;
         }
+        return hasAnimationsRunning;
     }
 
     /**
@@ -773,19 +2101,26 @@ public class CenterSliderView extends View {
 
     /**
      * Adds animation (if required) for ticks/baseline
+     * @param durationMs how long the animation takes
      */
-    private void queueCenterAnimation() {
-        if (mCurrentValue != mAnimateStartValue) {
-            TickLineInfo startTick = getTickLineInfo(mAnimateStartValue);
-            TickLineInfo currentTick = getTickLineInfo(mCurrentValue);
-            if (startTick == null || currentTick == null) {
-                return;
-            }
+    private void queueCenterAnimation(int durationMs) {
+        // fold any edge scrolling into the tick positions, so the distance is from offset 0
+        if (xBarDrawOffset != 0) {
+            normalizeXOffset();
+        }
 
-            xBarDistance = startTick.pointStart.x - currentTick.pointStart.x;
-        } else {
-            xBarDistance = 0;
+        TickLineInfo currentTick = getTickLineInfo(mCurrentValue);
+        if (currentTick == null) {
+            if (!mTickLines.isEmpty()) {
+                // snapped across a disabled run to a value that's off screen, so there's no tick
+                // to slide; jump to it like setCurrentValue does
+                initializeTickLines(getMeasuredWidth());
+                resetCenterAlignment();
+                invalidate();
+            }
+            return;
         }
+        xBarDistance = getMeasuredWidth() / 2 - currentTick.pointStart.x;
 
         if (mMutableDraggerBounds.left != mDraggerBounds.left) {
             // just recenter this
@@ -801,48 +2136,49 @@ public class CenterSliderView extends View {
         }
 
         // TODO - need a queue?
+        mCenterRunDurationMs = durationMs;
         mRunningAnimations.put(AnimationType.CENTER, AnimationValue.CENTER);
-
-        if (!mIsAnimating) {
-            mIsAnimating = true;
-            sHandler.postDelayed(mAnimationRunnable, MS_PER_FRAME);
-        }
+        scheduleAnimation();
     }
 
     /**
      * Horizontal animation to offset ticks and baseline
      * @return true if has baseline animation running
      */
-    private boolean handleCenterAnimation() {
+    private boolean handleCenterAnimation(int elapsedMs) {
         AnimationValue baseAnimation = mRunningAnimations.get(AnimationType.CENTER);
-        if (baseAnimation != null) {
-            if (mTimeMs > mCenterAnimationDurationMs &&
-                    mTimeMs % mCenterAnimationDurationMs > MS_PER_FRAME) {
-                resetCenterAlignment();
+        if (baseAnimation == null) {
+            return false;
+        }
 
-                mRunningAnimations.remove(AnimationType.CENTER);
-            } else {
-                // ensure that the end is reached
-                float interpolationTime = mTimeMs > mCenterAnimationDurationMs ?
-                        1 : (float) mTimeMs/mCenterAnimationDurationMs;
-                // offset based on interpolation
-                float interpolation = mInterpolator.getInterpolation(interpolationTime);
-                // baseline + ticks
-                setXOffset(xBarDistance * interpolation, false);
-
-                // dragger
-                int left = (int) (mDraggerBounds.left + (xDraggerDistance * (1 - interpolation)));
-                mMutableDraggerBounds.offsetTo(left, mMutableDraggerBounds.top);
-                mDraggerDrawable.setBounds(mMutableDraggerBounds);
-
-                mTooltipBounds.offsetTo(left + mTooltipWidthDiff, mTooltipBounds.top);
-                mTooltipDrawable.setBounds(mTooltipBounds);
+        // frames can be late, so the last one may land anywhere past the duration
+        boolean finished = mTimeMs >= mCenterRunDurationMs;
+        float interpolationTime = finished ? 1 : (float) mTimeMs/mCenterRunDurationMs;
+        // offset based on interpolation
+        float interpolation = mInterpolator.getInterpolation(interpolationTime);
+        // baseline + ticks
+        setXOffset(xBarDistance * interpolation, false);
+
+        // dragger, unless it never left the center (ribbon drags, setCurrentValue)
+        if (xDraggerDistance != 0) {
+            int left = (int) (mDraggerBounds.left + (xDraggerDistance * (1 - interpolation)));
+            mMutableDraggerBounds.offsetTo(left, mMutableDraggerBounds.top);
+            mDraggerDrawable.setBounds(mMutableDraggerBounds);
+
+            mTooltipBounds.offsetTo(left + mTooltipWidthDiff, mTooltipBounds.top);
+            mTooltipDrawable.setBounds(mTooltipBounds);
+        }
 
-                mTimeMs += MS_PER_FRAME;
-            }
+        if (finished) {
+            // draws the same as the final frame, with the offset folded into the ticks
+            resetCenterAlignment();
+            mRunningAnimations.remove(AnimationType.CENTER);
+            invalidate();
+            return false;
         }
 
-        return baseAnimation != null;
+        mTimeMs += elapsedMs;
+        return true;
     }
 
     /**
@@ -872,6 +2208,28 @@ public class CenterSliderView extends View {
         xDraggerDistance = 0;
     }
 
+    class ZoomListener extends ScaleGestureDetector.SimpleOnScaleGestureListener {
+        @Override
+        public boolean onScaleBegin(ScaleGestureDetector detector) {
+            // don't zoom out from under a drag or a re-centering, or without live ticks
+            if (mPointerId != -1 || mIsAnimating || mPreviewCache != null) {
+                return false;
+            }
+            // a pinch on the slider is never the parent's scroll
+            if (getParent() != null) {
+                getParent().requestDisallowInterceptTouchEvent(true);
+            }
+            return true;
+        }
+
+        @Override
+        public boolean onScale(ScaleGestureDetector detector) {
+            // spreading fingers zooms in, i.e. fewer intervals
+            setIntervalsToEdge(mIntervalsToEdge / detector.getScaleFactor());
+            return true;
+        }
+    }
+
     //
     // Various Data classes
     //
@@ -904,6 +2262,7 @@ public class CenterSliderView extends View {
     static class TickLineInfo extends LineInfo {
         public int value;
         public String text;
+        public boolean isLarge;
 
         public TickLineInfo(PointF start, PointF end) {
             super(start, end);
@@ -914,6 +2273,7 @@ public class CenterSliderView extends View {
             return "TickLineInfo{" +
                     "value=" + value +
                     ", text='" + text + '\'' +
+                    ", isLarge=" + isLarge +
                     "} " + super.toString();
         }
     }
@@ -923,61 +2283,364 @@ public class CenterSliderView extends View {
     /**
      * Slider Info to configure the slider; presently achieved
      * via {@link CenterSliderView#setSliderInfo(SliderInfo)}
+     *
+     * Instances are immutable and validated by {@link Builder#build()}, so one can be built on a
+     * background thread and shared by any number of sliders.  Everything the slider needs per
+     * tick (large tick pattern, overrides, formatted labels) is precomputed at build time.
      */
-    public static class SliderInfo {
-        int mMinValue, mMaxValue, mStartValue;
-        int mIntervalsToEdge; // number of "spaces" to edge
-        int mLargeTickInterval;
-        @SuppressLint("UseSparseArrays")
-        Map<Integer, String> mTextOverrides = new HashMap<>(); // raw value to override with string
+    public static final class SliderInfo {
+        // past this many large ticks, labels are formatted when their tick comes on screen
+        static final int MAX_PRECOMPUTED_LABELS = 1024;
+
+        static final SliderInfo DEFAULT = new Builder().build();
+
+        // all values are step indices, which mDomain maps to the values they represent
+        final int mMinValue, mMaxValue, mStartValue;
+        final int mIntervalsToEdge; // number of "spaces" to edge
+        final int mLargeTickInterval;
+        // raw value to override with string, sorted by value for binary search
+        final int[] mOverrideValues;
+        final String[] mOverrideTexts;
+        // label of every large tick from mFirstLargeTick, or null if there are too many
+        @Nullable final String[] mLargeTickLabels;
+        final int mFirstLargeTick;
+        final ValueDomain mDomain;
+        @Nullable final LabelFormatter mLabelFormatter;
+        // bit (value - min) is set for each disabled value, null if all are enabled
+        @Nullable final BitSet mDisabled;
+        // the same values as sorted, merged runs, flattened to {from, to, from, to, ...}, so the
+        // enabled values either side of a disabled one are a binary search away
+        @Nullable final int[] mDisabledRuns;
+
+        SliderInfo(Builder builder) {
+            mMinValue = builder.mMinValue;
+            mMaxValue = builder.mMaxValue;
+            mStartValue = builder.mStartValue;
+            mIntervalsToEdge = builder.mIntervalsToEdge;
+            mLargeTickInterval = builder.mLargeTickInterval;
+            mDomain = builder.mDomain;
+            mLabelFormatter = builder.mLabelFormatter;
+            mDisabled = builder.buildDisabled();
+            mDisabledRuns = toRuns(mDisabled, mMinValue);
+
+            mOverrideValues = new int[builder.mTextOverrides.size()];
+            mOverrideTexts = new String[mOverrideValues.length];
+            int i = 0;
+            for (Map.Entry<Integer, String> entry : builder.mTextOverrides.entrySet()) {
+                mOverrideValues[i] = entry.getKey();
+                mOverrideTexts[i] = entry.getValue();
+                i++;
+            }
+
+            // first large tick at or after min, stepping from start in either direction
+            int offset = (mStartValue - mMinValue) % mLargeTickInterval;
+            mFirstLargeTick = mMinValue + offset;
+            int largeTickCount = mFirstLargeTick > mMaxValue ?
+                    0 : (mMaxValue - mFirstLargeTick) / mLargeTickInterval + 1;
+            if (largeTickCount <= MAX_PRECOMPUTED_LABELS) {
+                mLargeTickLabels = new String[largeTickCount];
+                StringBuilder sb = new StringBuilder();
+                for (int k = 0; k < largeTickCount; k++) {
+                    mLargeTickLabels[k] = formatTickLabel(mFirstLargeTick + k * mLargeTickInterval, sb);
+                }
+            } else {
+                mLargeTickLabels = null;
+            }
+        }
+
+        /**
+         * @return true if the tick at value should be large (and labeled)
+         */
+        boolean isLargeTick(int value) {
+            return (value - mStartValue) % mLargeTickInterval == 0;
+        }
+
+        /**
+         * @return false if value is outside the bounds or was disabled with
+         *         {@link Builder#addDisabledRange(int, int)}
+         */
+        public boolean isEnabled(int value) {
+            if (value < mMinValue || value > mMaxValue) {
+                return false;
+            }
+            return mDisabled == null || !mDisabled.get(value - mMinValue);
+        }
+
+        /**
+         * @param value within bounds
+         * @param preferLarger which way to go when enabled values are equally far either side
+         * @return value itself if it's enabled, otherwise the closest enabled value
+         */
+        public int getNearestEnabledValue(int value, boolean preferLarger) {
+            if (mDisabled == null) {
+                return value;
+            }
+            int bit = value - mMinValue;
+            if (!mDisabled.get(bit)) {
+                return value;
+            }
+
+            // value is inside a run, so it's found as one of the run's ends or falls between them
+            int index = Arrays.binarySearch(mDisabledRuns, value);
+            int run = (index >= 0 ? index : -index - 1) / 2;
+            // runs are merged, so the values just outside are enabled
+            int below = mDisabledRuns[2 * run] - 1;
+            int above = mDisabledRuns[2 * run + 1] + 1;
+            if (above > mMaxValue) {
+                return below;
+            } else if (below < mMinValue) {
+                return above;
+            }
+
+            int distanceAbove = above - value;
+            int distanceBelow = value - below;
+            if (distanceAbove == distanceBelow) {
+                return preferLarger ? above : below;
+            }
+            return distanceAbove < distanceBelow ? above : below;
+        }
+
+        @Nullable
+        static int[] toRuns(@Nullable BitSet disabled, int minValue) {
+            if (disabled == null) {
+                return null;
+            }
+
+            int count = 0;
+            for (int from = disabled.nextSetBit(0); from >= 0;
+                 from = disabled.nextSetBit(disabled.nextClearBit(from))) {
+                count++;
+            }
+            int[] runs = new int[count * 2];
+            int i = 0;
+            for (int from = disabled.nextSetBit(0); from >= 0; ) {
+                int to = disabled.nextClearBit(from);
+                runs[i++] = minValue + from;
+                runs[i++] = minValue + to - 1;
+                from = disabled.nextSetBit(to);
+            }
+            return runs;
+        }
+
+        @Nullable
+        String getTextOverride(int value) {
+            int index = Arrays.binarySearch(mOverrideValues, value);
+            return index >= 0 ? mOverrideTexts[index] : null;
+        }
+
+        /**
+         * @param sb only used if the label wasn't precomputed
+         * @return label for a tick at value, or null if it's a small tick
+         */
+        @Nullable
+        String getTickLabel(int value, StringBuilder sb) {
+            if (!isLargeTick(value)) {
+                return null;
+            }
+            if (mLargeTickLabels != null) {
+                int k = (value - mFirstLargeTick) / mLargeTickInterval;
+                if (value >= mFirstLargeTick && k < mLargeTickLabels.length) {
+                    return mLargeTickLabels[k];
+                }
+            }
+            return formatTickLabel(value, sb);
+        }
+
+        private String formatTickLabel(int value, StringBuilder sb) {
+            String text = getTextOverride(value);
+            if (text != null) {
+                return text;
+            }
+
+            sb.setLength(0);
+            if (mLabelFormatter != null) {
+                mLabelFormatter.appendTickLabel(mDomain,
+                        mDomain.valueAt(value), mDomain.valueAt(mStartValue), sb);
+            } else {
+                // same as "%+d" of the diff, without the varargs boxing
+                mDomain.appendSigned(mDomain.valueAt(value) - mDomain.valueAt(mStartValue), sb);
+            }
+            return sb.toString();
+        }
+
+        public int getMinValue() {
+            return mMinValue;
+        }
 
-        // define defaults
-        SliderInfo() {
-            mMinValue = 0;
-            mMaxValue = 60;
-            mStartValue = mMaxValue/2;
-            mIntervalsToEdge = 6;   // gaps to reach the edge
-            mLargeTickInterval = 5; // every Xth tick will be a "large" tick
+        public int getMaxValue() {
+            return mMaxValue;
+        }
+
+        public int getStartValue() {
+            return mStartValue;
+        }
+
+        public int getIntervalsToEdge() {
+            return mIntervalsToEdge;
+        }
+
+        public int getLargeTickInterval() {
+            return mLargeTickInterval;
+        }
+
+        public ValueDomain getValueDomain() {
+            return mDomain;
         }
 
         /**
          * Builder for constructing SliderInfo. If set* not called, defaults will be used instead.
+         *
+         * Builders are not thread safe, but {@link #build()} can be called on any thread.
          */
         public static class Builder {
-            SliderInfo mInfo;
+            int mMinValue = 0;
+            int mMaxValue = 60;
+            int mStartValue = mMaxValue/2;
+            int mIntervalsToEdge = 6;   // gaps to reach the edge
+            int mLargeTickInterval = 5; // every Xth tick will be a "large" tick
+            // only touched while building, so boxing is fine here
+            TreeMap<Integer, String> mTextOverrides = new TreeMap<>();
+            ValueDomain mDomain = ValueDomain.IDENTITY;
+            @Nullable LabelFormatter mLabelFormatter;
+            // inclusive {from, to} pairs, only resolved against the bounds in build()
+            List<int[]> mDisabledRanges = new ArrayList<>();
 
             public Builder() {
-                mInfo = new SliderInfo();
+            }
+
+            /**
+             * Starts from an existing configuration, e.g. to change its start value.
+             */
+            public Builder(SliderInfo info) {
+                mMinValue = info.mMinValue;
+                mMaxValue = info.mMaxValue;
+                mStartValue = info.mStartValue;
+                mIntervalsToEdge = info.mIntervalsToEdge;
+                mLargeTickInterval = info.mLargeTickInterval;
+                for (int i = 0; i < info.mOverrideValues.length; i++) {
+                    mTextOverrides.put(info.mOverrideValues[i], info.mOverrideTexts[i]);
+                }
+                mDomain = info.mDomain;
+                mLabelFormatter = info.mLabelFormatter;
+                if (info.mDisabledRuns != null) {
+                    for (int i = 0; i < info.mDisabledRuns.length; i += 2) {
+                        mDisabledRanges.add(new int[]{info.mDisabledRuns[i], info.mDisabledRuns[i + 1]});
+                    }
+                }
             }
 
             public Builder setBounds(int min, int max) {
-                mInfo.mMinValue = min;
-                mInfo.mMaxValue = max;
+                mMinValue = min;
+                mMaxValue = max;
                 return this;
             }
 
             public Builder setStartValue(int startValue) {
-                mInfo.mStartValue = startValue;
+                mStartValue = startValue;
                 return this;
             }
 
             public Builder setIntervalsToEdge(int intervalsToEdge) {
-                mInfo.mIntervalsToEdge = intervalsToEdge;
+                mIntervalsToEdge = intervalsToEdge;
                 return this;
             }
 
             public Builder setLargeTickInterval(int interval) {
-                mInfo.mLargeTickInterval = interval;
+                mLargeTickInterval = interval;
                 return this;
             }
 
             public Builder setValueTextOverride(int value, String textOverride) {
-                mInfo.mTextOverrides.put(value, textOverride);
+                mTextOverrides.put(value, textOverride);
+                return this;
+            }
+
+            /**
+             * Maps step indices (bounds, start value, overrides) onto domain values.
+             * Defaults to {@link ValueDomain#IDENTITY}.
+             */
+            public Builder setValueDomain(ValueDomain domain) {
+                mDomain = domain;
+                return this;
+            }
+
+            /**
+             * Makes a value unselectable: its tick is dimmed and drags skip over it.
+             */
+            public Builder addDisabledValue(int value) {
+                return addDisabledRange(value, value);
+            }
+
+            /**
+             * Makes every value from `from` to `to` (inclusive) unselectable.  Parts outside the
+             * bounds are ignored.
+             */
+            public Builder addDisabledRange(int from, int to) {
+                if (from > to) {
+                    throw new IllegalArgumentException("from " + from + " > to " + to);
+                }
+                mDisabledRanges.add(new int[]{from, to});
+                return this;
+            }
+
+            public Builder clearDisabledValues() {
+                mDisabledRanges.clear();
+                return this;
+            }
+
+            @Nullable
+            BitSet buildDisabled() {
+                BitSet disabled = null;
+                for (int[] range : mDisabledRanges) {
+                    int from = Math.max(range[0], mMinValue);
+                    int to = Math.min(range[1], mMaxValue);
+                    if (from > to) {
+                        continue;
+                    }
+                    if (disabled == null) {
+                        disabled = new BitSet(mMaxValue - mMinValue + 1);
+                    }
+                    disabled.set(from - mMinValue, to - mMinValue + 1);
+                }
+                return disabled;
+            }
+
+            /**
+             * Replaces the default "+N" tick labels and the plurals based tooltip text.  Tick
+             * labels are formatted during {@link #build()}, so the formatter must be safe to
+             * call from whichever thread builds.
+             */
+            public Builder setLabelFormatter(@Nullable LabelFormatter formatter) {
+                mLabelFormatter = formatter;
                 return this;
             }
 
+            /**
+             * @return a new, immutable SliderInfo
+             * @throws IllegalArgumentException if the configuration can't be drawn
+             */
             public SliderInfo build() {
-                return mInfo;
+                if (mMinValue > mMaxValue) {
+                    throw new IllegalArgumentException("min " + mMinValue + " > max " + mMaxValue);
+                }
+                if (mStartValue < mMinValue || mStartValue > mMaxValue) {
+                    throw new IllegalArgumentException("start " + mStartValue +
+                            " outside of [" + mMinValue + ", " + mMaxValue + "]");
+                }
+                if (mIntervalsToEdge < 1) {
+                    throw new IllegalArgumentException("intervalsToEdge must be >= 1: " + mIntervalsToEdge);
+                }
+                if (mLargeTickInterval < 1) {
+                    throw new IllegalArgumentException("largeTickInterval must be >= 1: " + mLargeTickInterval);
+                }
+                if (mDomain == null) {
+                    throw new IllegalArgumentException("domain must not be null");
+                }
+                SliderInfo info = new SliderInfo(this);
+                if (!info.isEnabled(mStartValue)) {
+                    throw new IllegalArgumentException("start " + mStartValue + " is disabled");
+                }
+                return info;
             }
         }
 
@@ -989,15 +2652,69 @@ public class CenterSliderView extends View {
                     ", mStartValue=" + mStartValue +
                     ", mIntervalsToEdge=" + mIntervalsToEdge +
                     ", mLargeTickInterval=" + mLargeTickInterval +
-                    ", mTextOverrides=" + mTextOverrides +
+                    ", mOverrideValues=" + Arrays.toString(mOverrideValues) +
+                    ", mOverrideTexts=" + Arrays.toString(mOverrideTexts) +
+                    ", mDomain=" + mDomain +
+                    ", mLabelFormatter=" + mLabelFormatter +
+                    ", mDisabled=" + mDisabled +
                     '}';
         }
     }
 
+    /**
+     * Something other than the view itself that steps {@link #doAnimationFrame(int)}, e.g. a
+     * gesture replay or a {@link CenterSliderGroup}.
+     */
+    interface FrameDriver {
+        /**
+         * The view has started animating; call {@link #doAnimationFrame(int)} once per frame
+         * until it returns false.
+         */
+        void onAnimationRequested(CenterSliderView view);
+    }
+
     /**
      * Interface for listening to slider events
      */
     public interface OnSliderListener {
+        /**
+         * @param newValue selected step index (equal to the value for the default domain)
+         */
         void onValueSelected(int newValue);
+
+        /**
+         * Called right after {@link #onValueSelected(int)} with the selected value mapped through
+         * the slider's {@link ValueDomain}.  Fixed point domains report the scaled value.
+         */
+        default void onDomainValueSelected(long domainValue) {
+        }
+
+        /**
+         * Called during a drag once the dragger has rested on a value for the slider's dwell
+         * threshold, so work for that value (e.g. fetching quotes) can start before it's
+         * selected.  The signal is canceled when the dragger moves on or the drag is abandoned;
+         * it isn't canceled if the drag ends with this value selected.
+         * @param value step index the dragger is resting on
+         */
+        default void onValueDwell(int value, CancellationSignal signal) {
+        }
+    }
+
+    /**
+     * Formats the slider's labels straight into a reused {@link StringBuilder}.  Values are
+     * passed as domain values (scaled for fixed point domains), never boxed.
+     */
+    public interface LabelFormatter {
+        /**
+         * Appends the label drawn under a large tick.
+         * @param value value of the tick
+         * @param startValue value the slider was configured to start at
+         */
+        void appendTickLabel(ValueDomain domain, long value, long startValue, StringBuilder out);
+
+        /**
+         * Appends the text shown in the tooltip above the dragger.
+         */
+        void appendTooltipLabel(ValueDomain domain, long value, StringBuilder out);
     }
 }
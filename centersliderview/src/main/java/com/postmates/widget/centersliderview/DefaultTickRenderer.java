@@ -0,0 +1,35 @@
+package com.postmates.widget.centersliderview;
+
+import android.graphics.Canvas;
+
+/**
+ * The stock tick look: a line hanging below the baseline (taller for large ticks) with
+ * the label centered underneath large ticks.
+ *
+ * Custom renderers can delegate to {@link #INSTANCE} to decorate the default ticks.
+ */
+public class DefaultTickRenderer implements TickRenderer {
+
+    public static final DefaultTickRenderer INSTANCE = new DefaultTickRenderer();
+
+    @Override
+    public void drawTick(Canvas canvas, float x, float baselineY, int value, boolean isLarge, int alpha,
+                         Scratch scratch) {
+        scratch.linePaint.setAlpha(Scratch.modulateAlpha(scratch.lineAlpha, alpha));
+        canvas.drawLine(
+                x,
+                baselineY,
+                x,
+                baselineY + (isLarge ? scratch.largeTickHeight : scratch.smallTickHeight),
+                scratch.linePaint);
+
+        if (scratch.label != null) {
+            scratch.textPaint.setAlpha(Scratch.modulateAlpha(scratch.textAlpha, alpha));
+            canvas.drawText(
+                    scratch.label,
+                    x,
+                    baselineY + scratch.largeTickHeight + scratch.textYOffset,
+                    scratch.textPaint);
+        }
+    }
+}
@@ -0,0 +1,377 @@
+package com.postmates.widget.centersliderview;
+
+import android.view.MotionEvent;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * A recorded gesture: the {@link MotionEvent}s a {@link CenterSliderView} saw, the times it
+ * drew frames, and the {@link CenterSliderView.SliderInfo} and size it had at the time.
+ *
+ * Record with {@link CenterSliderView#setGestureRecorder(Recorder)}, save with
+ * {@link #writeTo(OutputStream)}, and feed it back through a view with
+ * {@link GestureTraceReplayer}.  All times are in ms relative to the start of the recording.
+ *
+ * The {@link CenterSliderView.LabelFormatter} of the slider info is not part of the trace.
+ */
+public final class GestureTrace {
+
+    static final int MAGIC = 0x43535654; // "CSVT"
+    static final int VERSION = 2; // 2 added disabled values
+
+    final CenterSliderView.SliderInfo mSliderInfo;
+    final int mInitialValue;
+    final int mWidth, mHeight;
+
+    // one entry per event
+    final int mEventCount;
+    final long[] mEventTimes;
+    final int[] mEventActions; // masked action
+    final int[] mEventActionIndices;
+    final int[] mEventPointerOffsets; // index of the event's first pointer in the pointer arrays
+    final int[] mEventPointerCounts;
+    // pointers of all events, flattened
+    final int[] mPointerIds;
+    final float[] mPointerXs;
+    final float[] mPointerYs;
+
+    final int mFrameCount;
+    final long[] mFrameTimes;
+
+    GestureTrace(CenterSliderView.SliderInfo sliderInfo, int initialValue, int width, int height,
+                 int eventCount, long[] eventTimes, int[] eventActions, int[] eventActionIndices,
+                 int[] eventPointerOffsets, int[] eventPointerCounts,
+                 int pointerCount, int[] pointerIds, float[] pointerXs, float[] pointerYs,
+                 int frameCount, long[] frameTimes) {
+        mSliderInfo = sliderInfo;
+        mInitialValue = initialValue;
+        mWidth = width;
+        mHeight = height;
+        mEventCount = eventCount;
+        mEventTimes = Arrays.copyOf(eventTimes, eventCount);
+        mEventActions = Arrays.copyOf(eventActions, eventCount);
+        mEventActionIndices = Arrays.copyOf(eventActionIndices, eventCount);
+        mEventPointerOffsets = Arrays.copyOf(eventPointerOffsets, eventCount);
+        mEventPointerCounts = Arrays.copyOf(eventPointerCounts, eventCount);
+        mPointerIds = Arrays.copyOf(pointerIds, pointerCount);
+        mPointerXs = Arrays.copyOf(pointerXs, pointerCount);
+        mPointerYs = Arrays.copyOf(pointerYs, pointerCount);
+        mFrameCount = frameCount;
+        mFrameTimes = Arrays.copyOf(frameTimes, frameCount);
+    }
+
+    public CenterSliderView.SliderInfo getSliderInfo() {
+        return mSliderInfo;
+    }
+
+    public int getEventCount() {
+        return mEventCount;
+    }
+
+    public int getFrameCount() {
+        return mFrameCount;
+    }
+
+    /**
+     * @return time of the last event or frame
+     */
+    public long getDurationMs() {
+        long events = mEventCount > 0 ? mEventTimes[mEventCount - 1] : 0;
+        long frames = mFrameCount > 0 ? mFrameTimes[mFrameCount - 1] : 0;
+        return Math.max(events, frames);
+    }
+
+    /**
+     * Writes this trace in a compact binary format readable by {@link #readFrom(InputStream)}.
+     * The stream is not closed.
+     */
+    public void writeTo(OutputStream outputStream) throws IOException {
+        DataOutputStream out = new DataOutputStream(outputStream);
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+
+        CenterSliderView.SliderInfo info = mSliderInfo;
+        out.writeInt(info.mMinValue);
+        out.writeInt(info.mMaxValue);
+        out.writeInt(info.mStartValue);
+        out.writeInt(info.mIntervalsToEdge);
+        out.writeInt(info.mLargeTickInterval);
+        out.writeLong(info.mDomain.mBase);
+        out.writeLong(info.mDomain.mStep);
+        out.writeByte(info.mDomain.mDecimals);
+        out.writeInt(info.mOverrideValues.length);
+        for (int i = 0; i < info.mOverrideValues.length; i++) {
+            out.writeInt(info.mOverrideValues[i]);
+            out.writeUTF(info.mOverrideTexts[i]);
+        }
+        // disabled values as inclusive ranges
+        BitSet disabled = info.mDisabled != null ? info.mDisabled : new BitSet();
+        int ranges = 0;
+        for (int from = disabled.nextSetBit(0); from >= 0; from = disabled.nextSetBit(disabled.nextClearBit(from))) {
+            ranges++;
+        }
+        out.writeInt(ranges);
+        for (int from = disabled.nextSetBit(0); from >= 0; from = disabled.nextSetBit(disabled.nextClearBit(from))) {
+            out.writeInt(info.mMinValue + from);
+            out.writeInt(info.mMinValue + disabled.nextClearBit(from) - 1);
+        }
+
+        out.writeInt(mInitialValue);
+        out.writeInt(mWidth);
+        out.writeInt(mHeight);
+
+        out.writeInt(mEventCount);
+        for (int i = 0; i < mEventCount; i++) {
+            out.writeLong(mEventTimes[i]);
+            out.writeByte(mEventActions[i]);
+            out.writeByte(mEventActionIndices[i]);
+            out.writeByte(mEventPointerCounts[i]);
+            for (int p = mEventPointerOffsets[i], end = p + mEventPointerCounts[i]; p < end; p++) {
+                out.writeByte(mPointerIds[p]);
+                out.writeFloat(mPointerXs[p]);
+                out.writeFloat(mPointerYs[p]);
+            }
+        }
+
+        out.writeInt(mFrameCount);
+        for (int i = 0; i < mFrameCount; i++) {
+            out.writeLong(mFrameTimes[i]);
+        }
+        out.flush();
+    }
+
+    /**
+     * Reads a trace written by {@link #writeTo(OutputStream)}.  The stream is not closed.
+     * @throws IOException if the stream doesn't contain a trace of a known version
+     */
+    public static GestureTrace readFrom(InputStream inputStream) throws IOException {
+        DataInputStream in = new DataInputStream(inputStream);
+        if (in.readInt() != MAGIC) {
+            throw new IOException("not a gesture trace");
+        }
+        int version = in.readInt();
+        if (version < 1 || version > VERSION) {
+            throw new IOException("unsupported gesture trace version " + version);
+        }
+
+        CenterSliderView.SliderInfo.Builder builder = new CenterSliderView.SliderInfo.Builder()
+                .setBounds(in.readInt(), in.readInt())
+                .setStartValue(in.readInt())
+                .setIntervalsToEdge(in.readInt())
+                .setLargeTickInterval(in.readInt());
+        long base = in.readLong();
+        long step = in.readLong();
+        builder.setValueDomain(ValueDomain.fixedPoint(base, step, in.readByte()));
+        int overrides = in.readInt();
+        for (int i = 0; i < overrides; i++) {
+            builder.setValueTextOverride(in.readInt(), in.readUTF());
+        }
+        int disabledRanges = version >= 2 ? in.readInt() : 0;
+        for (int i = 0; i < disabledRanges; i++) {
+            int from = in.readInt();
+            int to = in.readInt();
+            if (from > to) {
+                throw new IOException("invalid disabled range in gesture trace");
+            }
+            builder.addDisabledRange(from, to);
+        }
+
+        Recorder recorder = new Recorder();
+        try {
+            recorder.begin(builder.build(), in.readInt(), in.readInt(), in.readInt());
+        } catch (IllegalArgumentException e) {
+            throw new IOException("invalid slider info in gesture trace", e);
+        }
+
+        int eventCount = in.readInt();
+        int[] ids = new int[4];
+        float[] xs = new float[4];
+        float[] ys = new float[4];
+        for (int i = 0; i < eventCount; i++) {
+            long time = in.readLong();
+            int action = in.readByte();
+            int actionIndex = in.readByte();
+            int pointerCount = in.readByte();
+            if (pointerCount > ids.length) {
+                ids = new int[pointerCount];
+                xs = new float[pointerCount];
+                ys = new float[pointerCount];
+            }
+            for (int p = 0; p < pointerCount; p++) {
+                ids[p] = in.readByte();
+                xs[p] = in.readFloat();
+                ys[p] = in.readFloat();
+            }
+            recorder.addEvent(time, action, actionIndex, pointerCount, ids, xs, ys);
+        }
+
+        int frameCount = in.readInt();
+        for (int i = 0; i < frameCount; i++) {
+            recorder.addFrame(in.readLong());
+        }
+        return recorder.stop();
+    }
+
+    @Override
+    public String toString() {
+        return "GestureTrace{" +
+                "mSliderInfo=" + mSliderInfo +
+                ", mInitialValue=" + mInitialValue +
+                ", mWidth=" + mWidth +
+                ", mHeight=" + mHeight +
+                ", mEventCount=" + mEventCount +
+                ", mFrameCount=" + mFrameCount +
+                '}';
+    }
+
+    /**
+     * Collects events and frames into a {@link GestureTrace}.  Attach it to a view with
+     * {@link CenterSliderView#setGestureRecorder(Recorder)}, or build a synthetic trace with
+     * {@link #begin} and the add* methods.
+     *
+     * Recording only appends to primitive arrays, so it's cheap enough to leave on for a
+     * debug build, but is not thread safe.
+     */
+    public static final class Recorder {
+        CenterSliderView.SliderInfo mSliderInfo = CenterSliderView.SliderInfo.DEFAULT;
+        int mInitialValue;
+        int mWidth, mHeight;
+        // uptime of the first thing recorded; everything is stored relative to it
+        long mStartTime = -1;
+
+        int mEventCount;
+        long[] mEventTimes = new long[64];
+        int[] mEventActions = new int[64];
+        int[] mEventActionIndices = new int[64];
+        int[] mEventPointerOffsets = new int[64];
+        int[] mEventPointerCounts = new int[64];
+        int mPointerCount;
+        int[] mPointerIds = new int[64];
+        float[] mPointerXs = new float[64];
+        float[] mPointerYs = new float[64];
+
+        int mFrameCount;
+        long[] mFrameTimes = new long[64];
+
+        /**
+         * Clears anything recorded so far and starts a new recording for a slider in the given
+         * state.
+         * @param initialValue the slider's current value, which may differ from its start value
+         */
+        public void begin(CenterSliderView.SliderInfo sliderInfo, int initialValue, int width, int height) {
+            mSliderInfo = sliderInfo;
+            mInitialValue = initialValue;
+            mWidth = width;
+            mHeight = height;
+            mStartTime = -1;
+            mEventCount = 0;
+            mPointerCount = 0;
+            mFrameCount = 0;
+        }
+
+        void recordEvent(MotionEvent event) {
+            int pointerCount = event.getPointerCount();
+            ensurePointerCapacity(mPointerCount + pointerCount);
+            int offset = mPointerCount;
+            for (int p = 0; p < pointerCount; p++) {
+                mPointerIds[offset + p] = event.getPointerId(p);
+                mPointerXs[offset + p] = event.getX(p);
+                mPointerYs[offset + p] = event.getY(p);
+            }
+            addEventInternal(toRelative(event.getEventTime()), event.getActionMasked(),
+                    event.getActionIndex(), pointerCount);
+        }
+
+        void recordFrame(long uptimeMs) {
+            addFrame(toRelative(uptimeMs));
+        }
+
+        private long toRelative(long uptimeMs) {
+            if (mStartTime < 0) {
+                mStartTime = uptimeMs;
+            }
+            return uptimeMs - mStartTime;
+        }
+
+        /**
+         * Appends an event.
+         * @param timeMs time relative to the start of the trace
+         * @param action masked action, e.g. {@link MotionEvent#ACTION_MOVE}
+         * @param actionIndex pointer index the action applies to
+         */
+        public void addEvent(long timeMs, int action, int actionIndex, int pointerCount,
+                             int[] pointerIds, float[] xs, float[] ys) {
+            ensurePointerCapacity(mPointerCount + pointerCount);
+            System.arraycopy(pointerIds, 0, mPointerIds, mPointerCount, pointerCount);
+            System.arraycopy(xs, 0, mPointerXs, mPointerCount, pointerCount);
+            System.arraycopy(ys, 0, mPointerYs, mPointerCount, pointerCount);
+            addEventInternal(timeMs, action, actionIndex, pointerCount);
+        }
+
+        /**
+         * Appends a single pointer event (pointer id 0).
+         */
+        public void addEvent(long timeMs, int action, float x, float y) {
+            ensurePointerCapacity(mPointerCount + 1);
+            mPointerIds[mPointerCount] = 0;
+            mPointerXs[mPointerCount] = x;
+            mPointerYs[mPointerCount] = y;
+            addEventInternal(timeMs, action, 0, 1);
+        }
+
+        /**
+         * Appends a frame.
+         * @param timeMs time relative to the start of the trace
+         */
+        public void addFrame(long timeMs) {
+            if (mFrameCount == mFrameTimes.length) {
+                mFrameTimes = Arrays.copyOf(mFrameTimes, mFrameCount * 2);
+            }
+            mFrameTimes[mFrameCount++] = timeMs;
+        }
+
+        /**
+         * @return everything recorded since {@link #begin}
+         */
+        public GestureTrace stop() {
+            return new GestureTrace(mSliderInfo, mInitialValue, mWidth, mHeight,
+                    mEventCount, mEventTimes, mEventActions, mEventActionIndices,
+                    mEventPointerOffsets, mEventPointerCounts,
+                    mPointerCount, mPointerIds, mPointerXs, mPointerYs,
+                    mFrameCount, mFrameTimes);
+        }
+
+        private void addEventInternal(long timeMs, int action, int actionIndex, int pointerCount) {
+            if (mEventCount == mEventTimes.length) {
+                int size = mEventCount * 2;
+                mEventTimes = Arrays.copyOf(mEventTimes, size);
+                mEventActions = Arrays.copyOf(mEventActions, size);
+                mEventActionIndices = Arrays.copyOf(mEventActionIndices, size);
+                mEventPointerOffsets = Arrays.copyOf(mEventPointerOffsets, size);
+                mEventPointerCounts = Arrays.copyOf(mEventPointerCounts, size);
+            }
+            mEventTimes[mEventCount] = timeMs;
+            mEventActions[mEventCount] = action;
+            mEventActionIndices[mEventCount] = actionIndex;
+            mEventPointerOffsets[mEventCount] = mPointerCount;
+            mEventPointerCounts[mEventCount] = pointerCount;
+            mEventCount++;
+            mPointerCount += pointerCount;
+        }
+
+        private void ensurePointerCapacity(int capacity) {
+            if (capacity > mPointerIds.length) {
+                int size = Math.max(capacity, mPointerIds.length * 2);
+                mPointerIds = Arrays.copyOf(mPointerIds, size);
+                mPointerXs = Arrays.copyOf(mPointerXs, size);
+                mPointerYs = Arrays.copyOf(mPointerYs, size);
+            }
+        }
+    }
+}
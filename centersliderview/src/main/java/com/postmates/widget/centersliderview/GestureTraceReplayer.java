@@ -0,0 +1,263 @@
+package com.postmates.widget.centersliderview;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.view.MotionEvent;
+import android.view.View;
+
+import java.util.Arrays;
+
+import androidx.annotation.Nullable;
+
+/**
+ * Feeds a {@link GestureTrace} back through a {@link CenterSliderView}, so a gesture recorded
+ * in production can be repeated as a performance or correctness test (on device or under
+ * Robolectric).
+ *
+ * The view is configured with the trace's slider info and size, then every event is dispatched
+ * to {@link CenterSliderView#onTouchEvent(MotionEvent)} in order.  Wherever the trace recorded
+ * a frame, the replayer steps the view's animations and draws it, timing that work.  After the
+ * last event, frames keep going until the view settles.
+ *
+ * Replay runs synchronously on the calling thread, which should be the thread that owns the
+ * view.  The view shouldn't be attached to a window, since its own frame scheduling is
+ * replaced for the duration of the replay.
+ */
+public class GestureTraceReplayer {
+
+    // frames stepped after the last event to let animations settle (~10s at 60 fps)
+    static final int MAX_SETTLE_FRAMES = 600;
+
+    float mSpeed = 0;
+    @Nullable Canvas mCanvas;
+
+    /**
+     * @param speed 1 to replay in real time, 2 for twice as fast, etc. 0 (the default) replays as
+     *              fast as possible, which is what tests usually want.  Anything but 0 sleeps
+     *              the calling thread.
+     */
+    public GestureTraceReplayer setSpeed(float speed) {
+        if (speed < 0) {
+            throw new IllegalArgumentException("speed must be >= 0: " + speed);
+        }
+        mSpeed = speed;
+        return this;
+    }
+
+    /**
+     * @param canvas canvas to draw frames into; by default a bitmap of the trace's size is used
+     */
+    public GestureTraceReplayer setCanvas(@Nullable Canvas canvas) {
+        mCanvas = canvas;
+        return this;
+    }
+
+    /**
+     * Replays the trace through the view.
+     * @return the value the view ended on, along with the work done for each frame
+     */
+    public Result replay(CenterSliderView view, GestureTrace trace) {
+        view.setSliderInfo(trace.mSliderInfo);
+        // the recording may have started after the user moved away from the start value
+        view.mCurrentValue = trace.mInitialValue;
+        // force onLayout, which re-creates the ticks, even if the size didn't change
+        view.requestLayout();
+        view.measure(
+                View.MeasureSpec.makeMeasureSpec(trace.mWidth, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(trace.mHeight, View.MeasureSpec.EXACTLY));
+        view.layout(0, 0, trace.mWidth, trace.mHeight);
+
+        Canvas canvas = mCanvas;
+        if (canvas == null) {
+            canvas = new Canvas(Bitmap.createBitmap(
+                    Math.max(1, trace.mWidth), Math.max(1, trace.mHeight), Bitmap.Config.ARGB_8888));
+        }
+
+        CenterSliderView.FrameDriver previousDriver = view.mFrameDriver;
+        // frames are stepped below, so requests for animation don't need to schedule anything
+        view.mFrameDriver = new CenterSliderView.FrameDriver() {
+            @Override
+            public void onAnimationRequested(CenterSliderView view) {
+            }
+        };
+
+        Result result = new Result(trace.mFrameCount + MAX_SETTLE_FRAMES);
+        long startNanos = System.nanoTime();
+        try {
+            int frame = 0;
+            MotionEvent.PointerProperties[] properties = new MotionEvent.PointerProperties[0];
+            MotionEvent.PointerCoords[] coords = new MotionEvent.PointerCoords[0];
+            for (int i = 0; i < trace.mEventCount; i++) {
+                long eventTime = trace.mEventTimes[i];
+                // frames the recording drew before this event
+                while (frame < trace.mFrameCount && trace.mFrameTimes[frame] <= eventTime) {
+                    waitUntil(startNanos, trace.mFrameTimes[frame]);
+                    doFrame(view, canvas, result);
+                    frame++;
+                }
+
+                int pointerCount = trace.mEventPointerCounts[i];
+                if (properties.length < pointerCount) {
+                    properties = new MotionEvent.PointerProperties[pointerCount];
+                    coords = new MotionEvent.PointerCoords[pointerCount];
+                    for (int p = 0; p < pointerCount; p++) {
+                        properties[p] = new MotionEvent.PointerProperties();
+                        coords[p] = new MotionEvent.PointerCoords();
+                    }
+                }
+                int offset = trace.mEventPointerOffsets[i];
+                for (int p = 0; p < pointerCount; p++) {
+                    properties[p].clear();
+                    properties[p].id = trace.mPointerIds[offset + p];
+                    properties[p].toolType = MotionEvent.TOOL_TYPE_FINGER;
+                    coords[p].clear();
+                    coords[p].x = trace.mPointerXs[offset + p];
+                    coords[p].y = trace.mPointerYs[offset + p];
+                }
+
+                waitUntil(startNanos, eventTime);
+                int action = trace.mEventActions[i]
+                        | (trace.mEventActionIndices[i] << MotionEvent.ACTION_POINTER_INDEX_SHIFT);
+                MotionEvent event = MotionEvent.obtain(0, eventTime, action, pointerCount,
+                        properties, coords, 0, 0, 1f, 1f, 0, 0, 0, 0);
+                view.onTouchEvent(event);
+                event.recycle();
+                result.mEventCount++;
+            }
+
+            // remaining recorded frames, then whatever it takes to settle
+            for (; frame < trace.mFrameCount; frame++) {
+                waitUntil(startNanos, trace.mFrameTimes[frame]);
+                doFrame(view, canvas, result);
+            }
+            long settleTime = trace.getDurationMs();
+            for (int i = 0; i < MAX_SETTLE_FRAMES && view.mIsAnimating; i++) {
+                settleTime += CenterSliderView.MS_PER_FRAME;
+                waitUntil(startNanos, settleTime);
+                doFrame(view, canvas, result);
+            }
+        } finally {
+            view.mFrameDriver = previousDriver;
+        }
+
+        result.mFinalValue = view.getCurrentValue();
+        result.mFinalDomainValue = view.getCurrentDomainValue();
+        result.mSettled = !view.mIsAnimating;
+        return result;
+    }
+
+    private void doFrame(CenterSliderView view, Canvas canvas, Result result) {
+        long start = System.nanoTime();
+        if (view.mIsAnimating) {
+            view.doAnimationFrame();
+        }
+        view.draw(canvas);
+        result.addFrame(System.nanoTime() - start);
+    }
+
+    private void waitUntil(long startNanos, long traceTimeMs) {
+        if (mSpeed == 0) {
+            return;
+        }
+
+        long targetNanos = startNanos + (long) (traceTimeMs * 1_000_000L / mSpeed);
+        long remainingMs = (targetNanos - System.nanoTime()) / 1_000_000L;
+        if (remainingMs > 0) {
+            try {
+                Thread.sleep(remainingMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Outcome of a replay.
+     */
+    public static final class Result {
+        int mFinalValue;
+        long mFinalDomainValue;
+        boolean mSettled;
+        int mEventCount;
+        int mFrameCount;
+        long[] mFrameNanos;
+
+        Result(int expectedFrames) {
+            mFrameNanos = new long[Math.max(1, expectedFrames)];
+        }
+
+        void addFrame(long nanos) {
+            if (mFrameCount == mFrameNanos.length) {
+                mFrameNanos = Arrays.copyOf(mFrameNanos, mFrameCount * 2);
+            }
+            mFrameNanos[mFrameCount++] = nanos;
+        }
+
+        /**
+         * @return step index the view ended on
+         */
+        public int getFinalValue() {
+            return mFinalValue;
+        }
+
+        public long getFinalDomainValue() {
+            return mFinalDomainValue;
+        }
+
+        /**
+         * @return false if animations were still running after {@link #MAX_SETTLE_FRAMES}
+         */
+        public boolean isSettled() {
+            return mSettled;
+        }
+
+        public int getEventCount() {
+            return mEventCount;
+        }
+
+        public int getFrameCount() {
+            return mFrameCount;
+        }
+
+        /**
+         * @return time spent stepping animations and drawing, per frame
+         */
+        public long[] getFrameNanos() {
+            return Arrays.copyOf(mFrameNanos, mFrameCount);
+        }
+
+        public long getTotalFrameNanos() {
+            long total = 0;
+            for (int i = 0; i < mFrameCount; i++) {
+                total += mFrameNanos[i];
+            }
+            return total;
+        }
+
+        /**
+         * @param percentile 0-100
+         */
+        public long getFrameNanosPercentile(int percentile) {
+            if (mFrameCount == 0) {
+                return 0;
+            }
+            long[] sorted = getFrameNanos();
+            Arrays.sort(sorted);
+            int index = Math.min(mFrameCount - 1, mFrameCount * percentile / 100);
+            return sorted[index];
+        }
+
+        @Override
+        public String toString() {
+            return "Result{" +
+                    "mFinalValue=" + mFinalValue +
+                    ", mFinalDomainValue=" + mFinalDomainValue +
+                    ", mSettled=" + mSettled +
+                    ", mEventCount=" + mEventCount +
+                    ", mFrameCount=" + mFrameCount +
+                    ", p50=" + getFrameNanosPercentile(50) +
+                    ", p90=" + getFrameNanosPercentile(90) +
+                    '}';
+        }
+    }
+}
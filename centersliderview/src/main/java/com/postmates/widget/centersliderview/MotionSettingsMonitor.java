@@ -0,0 +1,127 @@
+package com.postmates.widget.centersliderview;
+
+import android.animation.ValueAnimator;
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+import android.content.IntentFilter;
+import android.database.ContentObserver;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.PowerManager;
+import android.provider.Settings;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Watches the system state behind {@link CenterSliderView.MotionPolicy#SYSTEM}: the animator
+ * duration scale and battery saver.
+ *
+ * One instance is shared by the whole process and only registered with the system while at least
+ * one attached slider uses SYSTEM, so the receiver, the observer and the initial read cost a few
+ * binder calls for the first such slider rather than for every attach.  Main thread only.
+ */
+final class MotionSettingsMonitor {
+
+    interface Listener {
+        void onMotionReducedChanged(boolean reduced);
+    }
+
+    private static MotionSettingsMonitor sInstance;
+
+    static MotionSettingsMonitor get() {
+        if (sInstance == null) {
+            sInstance = new MotionSettingsMonitor();
+        }
+        return sInstance;
+    }
+
+    final List<Listener> mListeners = new ArrayList<>();
+    // application context, while registered
+    Context mContext;
+    boolean mReduced;
+
+    final BroadcastReceiver mPowerSaveReceiver = new BroadcastReceiver() {
+        @Override
+        public void onReceive(Context context, Intent intent) {
+            update();
+        }
+    };
+    final ContentObserver mAnimatorScaleObserver = new ContentObserver(new Handler(Looper.getMainLooper())) {
+        @Override
+        public void onChange(boolean selfChange) {
+            update();
+        }
+    };
+
+    private MotionSettingsMonitor() {
+    }
+
+    /**
+     * Starts telling listener about changes, registering with the system for the first one.
+     * @return whether the system currently asks for reduced motion
+     */
+    boolean addListener(Context context, Listener listener) {
+        if (mListeners.isEmpty()) {
+            Context appContext = context.getApplicationContext();
+            mContext = appContext != null ? appContext : context;
+            mContext.registerReceiver(mPowerSaveReceiver,
+                    new IntentFilter(PowerManager.ACTION_POWER_SAVE_MODE_CHANGED));
+            mContext.getContentResolver().registerContentObserver(
+                    Settings.Global.getUriFor(Settings.Global.ANIMATOR_DURATION_SCALE), false,
+                    mAnimatorScaleObserver);
+            // nothing kept it current while unregistered
+            mReduced = !areSystemAnimationsEnabled(mContext);
+        }
+        mListeners.add(listener);
+        return mReduced;
+    }
+
+    /**
+     * Stops telling listener about changes, unregistering from the system after the last one.
+     */
+    void removeListener(Listener listener) {
+        if (!mListeners.remove(listener) || !mListeners.isEmpty()) {
+            return;
+        }
+
+        mContext.unregisterReceiver(mPowerSaveReceiver);
+        mContext.getContentResolver().unregisterContentObserver(mAnimatorScaleObserver);
+        mContext = null;
+    }
+
+    void update() {
+        if (mContext == null) {
+            return;
+        }
+
+        boolean reduced = !areSystemAnimationsEnabled(mContext);
+        if (reduced == mReduced) {
+            return;
+        }
+
+        mReduced = reduced;
+        // listeners may remove themselves
+        for (Listener listener : new ArrayList<>(mListeners)) {
+            listener.onMotionReducedChanged(reduced);
+        }
+    }
+
+    static boolean areSystemAnimationsEnabled(Context context) {
+        boolean animatorsEnabled;
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
+            animatorsEnabled = ValueAnimator.areAnimatorsEnabled();
+        } else {
+            animatorsEnabled = Settings.Global.getFloat(context.getContentResolver(),
+                    Settings.Global.ANIMATOR_DURATION_SCALE, 1f) != 0;
+        }
+        if (!animatorsEnabled) {
+            return false;
+        }
+
+        PowerManager powerManager = (PowerManager) context.getSystemService(Context.POWER_SERVICE);
+        return powerManager == null || !powerManager.isPowerSaveMode();
+    }
+}
@@ -0,0 +1,132 @@
+package com.postmates.widget.centersliderview;
+
+import android.graphics.Bitmap;
+import android.util.LruCache;
+
+import java.util.Arrays;
+
+import androidx.annotation.Nullable;
+
+/**
+ * Bitmaps of sliders at rest, shared by every {@link CenterSliderView} in preview mode that uses
+ * it (see {@link CenterSliderView#enterPreviewMode(SliderPreviewCache)}).
+ *
+ * Rows showing the same {@link CenterSliderView.SliderInfo} at the same value and size draw
+ * the same bitmap, so a list of read-only sliders costs one render per distinct state.  Keys
+ * hold on to the slider infos and tick renderers they were drawn with, so the cache should live
+ * no longer than the screen that uses it.
+ *
+ * Intensities (see {@link CenterSliderView#setIntensities(float[])}) are keyed by a version that
+ * changes with every update instead of by their contents, so a row with an intensity band only
+ * reuses its own bitmaps.
+ *
+ * Must only be used on the UI thread.
+ */
+public final class SliderPreviewCache {
+
+    final LruCache<Key, Bitmap> mCache;
+
+    /**
+     * @param maxBytes total size of the cached bitmaps
+     */
+    public SliderPreviewCache(int maxBytes) {
+        mCache = new LruCache<Key, Bitmap>(maxBytes) {
+            @Override
+            protected int sizeOf(Key key, Bitmap bitmap) {
+                return bitmap.getByteCount();
+            }
+        };
+    }
+
+    @Nullable
+    Bitmap get(Key key) {
+        return mCache.get(key);
+    }
+
+    void put(Key key, Bitmap bitmap) {
+        mCache.put(key, bitmap);
+    }
+
+    public void clear() {
+        mCache.evictAll();
+    }
+
+    /**
+     * Everything that changes what a slider at rest looks like.  Mutable, so a view can look up
+     * with a single reused instance and only copy it on a miss.
+     */
+    static final class Key {
+        CenterSliderView.SliderInfo mSliderInfo;
+        int mValue;
+        int mWidth, mHeight;
+        int mPaddingLeft, mPaddingTop, mPaddingRight, mPaddingBottom;
+        float mIntervalsToEdge;
+        CenterSliderView.FadeMode mFadeMode;
+        TickRenderer mTickRenderer;
+        // colors, sizes and resources read from the view's attributes
+        int[] mStyle;
+        // see CenterSliderView#mIntensitiesVersion; the series itself would cost O(n) to hash
+        int mIntensitiesVersion;
+
+        Key copy() {
+            Key key = new Key();
+            key.mSliderInfo = mSliderInfo;
+            key.mValue = mValue;
+            key.mWidth = mWidth;
+            key.mHeight = mHeight;
+            key.mPaddingLeft = mPaddingLeft;
+            key.mPaddingTop = mPaddingTop;
+            key.mPaddingRight = mPaddingRight;
+            key.mPaddingBottom = mPaddingBottom;
+            key.mIntervalsToEdge = mIntervalsToEdge;
+            key.mFadeMode = mFadeMode;
+            key.mTickRenderer = mTickRenderer;
+            key.mStyle = mStyle;
+            key.mIntensitiesVersion = mIntensitiesVersion;
+            return key;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            // slider infos are immutable, so identity is enough
+            return mSliderInfo == key.mSliderInfo &&
+                    mValue == key.mValue &&
+                    mWidth == key.mWidth &&
+                    mHeight == key.mHeight &&
+                    mPaddingLeft == key.mPaddingLeft &&
+                    mPaddingTop == key.mPaddingTop &&
+                    mPaddingRight == key.mPaddingRight &&
+                    mPaddingBottom == key.mPaddingBottom &&
+                    mIntervalsToEdge == key.mIntervalsToEdge &&
+                    mFadeMode == key.mFadeMode &&
+                    mTickRenderer == key.mTickRenderer &&
+                    Arrays.equals(mStyle, key.mStyle) &&
+                    mIntensitiesVersion == key.mIntensitiesVersion;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = System.identityHashCode(mSliderInfo);
+            result = 31 * result + mValue;
+            result = 31 * result + mWidth;
+            result = 31 * result + mHeight;
+            result = 31 * result + mPaddingLeft;
+            result = 31 * result + mPaddingTop;
+            result = 31 * result + mPaddingRight;
+            result = 31 * result + mPaddingBottom;
+            result = 31 * result + Float.floatToIntBits(mIntervalsToEdge);
+            result = 31 * result + mFadeMode.hashCode();
+            result = 31 * result + System.identityHashCode(mTickRenderer);
+            result = 31 * result + Arrays.hashCode(mStyle);
+            result = 31 * result + mIntensitiesVersion;
+            return result;
+        }
+    }
+}
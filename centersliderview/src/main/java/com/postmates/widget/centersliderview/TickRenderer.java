@@ -0,0 +1,68 @@
+package com.postmates.widget.centersliderview;
+
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.graphics.RectF;
+
+import androidx.annotation.Nullable;
+
+/**
+ * Draws a single tick (and its label, if any) of a {@link CenterSliderView}.
+ *
+ * Called from `onDraw()` once per visible tick, so implementations should not allocate.
+ * Everything that isn't a primitive is handed over through the {@link Scratch}, which is
+ * owned by the view and reused for every tick and every frame.
+ *
+ * @see CenterSliderView#setTickRenderer(TickRenderer)
+ * @see DefaultTickRenderer
+ */
+public interface TickRenderer {
+
+    /**
+     * @param x horizontal center of the tick, already offset by any running animation
+     * @param baselineY y coordinate of the baseline; ticks hang below it
+     * @param value step index of the tick, see {@link Scratch#domain} for the actual value
+     * @param isLarge whether this is a large tick (those are the ones with labels)
+     * @param alpha 0-255 fade for this tick, 255 when it isn't fading
+     * @param scratch shared state for this draw pass
+     */
+    void drawTick(Canvas canvas, float x, float baselineY, int value, boolean isLarge, int alpha,
+                  Scratch scratch);
+
+    /**
+     * Per view scratch state handed to {@link #drawTick}.  Renderers may freely mutate the
+     * paints and temporary objects, but should not keep references to them past the call.
+     */
+    final class Scratch {
+        /** paint configured for tick/baseline lines */
+        public Paint linePaint;
+        /** paint configured for tick labels */
+        public Paint textPaint;
+        /** alpha of the configured line/text colors, to modulate with the fade alpha */
+        public int lineAlpha = 255;
+        public int textAlpha = 255;
+
+        public float smallTickHeight;
+        public float largeTickHeight;
+        /** distance below the bottom of a large tick to the label's baseline */
+        public float textYOffset;
+
+        /** label for the current tick, null when it has none */
+        @Nullable public String label;
+        /** maps {@code value} to the value it represents */
+        public ValueDomain domain = ValueDomain.IDENTITY;
+
+        // temporaries for renderers
+        public final Rect rect = new Rect();
+        public final RectF rectF = new RectF();
+        public final float[] points = new float[8];
+
+        /**
+         * @return the given configured alpha scaled by the fade alpha
+         */
+        public static int modulateAlpha(int baseAlpha, int alpha) {
+            return alpha == 255 ? baseAlpha : baseAlpha * alpha / 255;
+        }
+    }
+}
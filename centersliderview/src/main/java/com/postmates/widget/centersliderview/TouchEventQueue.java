@@ -0,0 +1,183 @@
+package com.postmates.widget.centersliderview;
+
+import android.view.MotionEvent;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free, fixed capacity, single producer/single consumer queue of touch events.
+ *
+ * The UI thread copies each {@link MotionEvent} into preallocated primitive slots with
+ * {@link #offer(MotionEvent)} and a render thread drains them with {@link #poll(Event)}.
+ * Neither side blocks or allocates; if the consumer falls a whole buffer behind, new events are
+ * dropped (and reported as such) rather than stalling the UI thread.  The last free slot is kept
+ * for ACTION_UP/ACTION_CANCEL, so a gesture whose ACTION_DOWN got in always gets its end in too.
+ */
+final class TouchEventQueue {
+
+    static final int MAX_POINTERS = 4;
+
+    final int mCapacity;
+    final int mMask;
+    final long[] mTimes;
+    final int[] mActions;
+    final int[] mActionIndices;
+    final int[] mPointerCounts;
+    // MAX_POINTERS entries per slot
+    final int[] mPointerIds;
+    final float[] mXs;
+    final float[] mYs;
+
+    // next slot to read, only written by the consumer
+    final AtomicLong mHead = new AtomicLong();
+    // next slot to write, only written by the producer
+    final AtomicLong mTail = new AtomicLong();
+
+    /**
+     * @param capacity rounded up to a power of two
+     */
+    TouchEventQueue(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        mCapacity = size;
+        mMask = size - 1;
+        mTimes = new long[size];
+        mActions = new int[size];
+        mActionIndices = new int[size];
+        mPointerCounts = new int[size];
+        mPointerIds = new int[size * MAX_POINTERS];
+        mXs = new float[size * MAX_POINTERS];
+        mYs = new float[size * MAX_POINTERS];
+    }
+
+    /**
+     * Producer side.  Pointers past {@link #MAX_POINTERS} are left out of each event, and their
+     * own ACTION_POINTER_DOWN/ACTION_POINTER_UP are skipped.
+     * @return false if the queue was full and the event was dropped
+     */
+    boolean offer(MotionEvent event) {
+        int action = event.getActionMasked();
+        int actionIndex = event.getActionIndex();
+        if (actionIndex >= MAX_POINTERS) {
+            // ignored rather than dropped, the consumer never sees this pointer
+            return true;
+        }
+
+        long tail = mTail.get();
+        if (isFull(tail, action)) {
+            return false;
+        }
+
+        int slot = (int) tail & mMask;
+        int pointerCount = Math.min(event.getPointerCount(), MAX_POINTERS);
+        mTimes[slot] = event.getEventTime();
+        mActions[slot] = action;
+        mActionIndices[slot] = actionIndex;
+        mPointerCounts[slot] = pointerCount;
+        int base = slot * MAX_POINTERS;
+        for (int p = 0; p < pointerCount; p++) {
+            mPointerIds[base + p] = event.getPointerId(p);
+            mXs[base + p] = event.getX(p);
+            mYs[base + p] = event.getY(p);
+        }
+        // publish the slot
+        mTail.lazySet(tail + 1);
+        return true;
+    }
+
+    /**
+     * Producer side, for a single pointer (id 0).
+     * @return false if the queue was full and the event was dropped
+     */
+    boolean offer(long time, int action, float x, float y) {
+        long tail = mTail.get();
+        if (isFull(tail, action)) {
+            return false;
+        }
+
+        int slot = (int) tail & mMask;
+        mTimes[slot] = time;
+        mActions[slot] = action;
+        mActionIndices[slot] = 0;
+        mPointerCounts[slot] = 1;
+        int base = slot * MAX_POINTERS;
+        mPointerIds[base] = 0;
+        mXs[base] = x;
+        mYs[base] = y;
+        mTail.lazySet(tail + 1);
+        return true;
+    }
+
+    private boolean isFull(long tail, int action) {
+        boolean ending = action == MotionEvent.ACTION_UP || action == MotionEvent.ACTION_CANCEL;
+        return tail - mHead.get() >= (ending ? mCapacity : mCapacity - 1);
+    }
+
+    /**
+     * Consumer side.
+     * @param out filled with the oldest event, if any
+     * @return false if the queue was empty
+     */
+    boolean poll(Event out) {
+        long head = mHead.get();
+        if (head == mTail.get()) {
+            return false;
+        }
+
+        int slot = (int) head & mMask;
+        out.time = mTimes[slot];
+        out.action = mActions[slot];
+        out.actionIndex = mActionIndices[slot];
+        out.pointerCount = mPointerCounts[slot];
+        int base = slot * MAX_POINTERS;
+        for (int p = 0; p < out.pointerCount; p++) {
+            out.pointerIds[p] = mPointerIds[base + p];
+            out.xs[p] = mXs[base + p];
+            out.ys[p] = mYs[base + p];
+        }
+        // release the slot back to the producer
+        mHead.lazySet(head + 1);
+        return true;
+    }
+
+    boolean isEmpty() {
+        return mHead.get() == mTail.get();
+    }
+
+    /**
+     * Reusable holder for a polled event.
+     */
+    static final class Event {
+        long time;
+        int action;
+        int actionIndex;
+        int pointerCount;
+        final int[] pointerIds = new int[MAX_POINTERS];
+        final float[] xs = new float[MAX_POINTERS];
+        final float[] ys = new float[MAX_POINTERS];
+
+        // for turning this back into a MotionEvent without allocating each time
+        final MotionEvent.PointerProperties[] mProperties = new MotionEvent.PointerProperties[MAX_POINTERS];
+        final MotionEvent.PointerCoords[] mCoords = new MotionEvent.PointerCoords[MAX_POINTERS];
+
+        /**
+         * @return a new event from the pool, which the caller must recycle
+         */
+        MotionEvent obtainMotionEvent(long downTime) {
+            for (int p = 0; p < pointerCount; p++) {
+                if (mProperties[p] == null) {
+                    mProperties[p] = new MotionEvent.PointerProperties();
+                    mCoords[p] = new MotionEvent.PointerCoords();
+                }
+                mProperties[p].clear();
+                mProperties[p].id = pointerIds[p];
+                mProperties[p].toolType = MotionEvent.TOOL_TYPE_FINGER;
+                mCoords[p].clear();
+                mCoords[p].x = xs[p];
+                mCoords[p].y = ys[p];
+            }
+            int fullAction = action | (actionIndex << MotionEvent.ACTION_POINTER_INDEX_SHIFT);
+            return MotionEvent.obtain(downTime, time, fullAction, pointerCount,
+                    mProperties, mCoords, 0, 0, 1f, 1f, 0, 0, 0, 0);
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.postmates.widget.centersliderview;
+
+/**
+ * Maps the slider's integer step indices onto the values they represent.
+ *
+ * The slider itself only ever works with step indices (the bounds and start value in
+ * {@link CenterSliderView.SliderInfo}, {@link CenterSliderView#getCurrentValue()}, etc.).  A
+ * domain turns index `i` into `base + i * step`, stored as a `long`, so the slider can pick
+ * things like epoch-minute timestamps without widening any of its internal state.
+ *
+ * Fractional steps are handled as fixed point: values are scaled by `10^decimals`, e.g. a
+ * 0.25 mile step is `fixedPoint(0, 25, 2)`.  All formatting appends to a caller supplied
+ * {@link StringBuilder} so nothing is boxed on the drag/draw paths.
+ */
+public final class ValueDomain {
+
+    /** index == value, which is how the slider behaved before domains existed */
+    public static final ValueDomain IDENTITY = new ValueDomain(0, 1, 0);
+
+    static final int MAX_DECIMALS = 9;
+
+    final long mBase;
+    final long mStep;
+    final int mDecimals;
+    final long mScale; // 10^decimals
+
+    private ValueDomain(long base, long step, int decimals) {
+        if (step == 0) {
+            throw new IllegalArgumentException("step must not be 0");
+        }
+        if (decimals < 0 || decimals > MAX_DECIMALS) {
+            throw new IllegalArgumentException("decimals must be in [0, " + MAX_DECIMALS + "]: " + decimals);
+        }
+        mBase = base;
+        mStep = step;
+        mDecimals = decimals;
+        long scale = 1;
+        for (int i = 0; i < decimals; i++) {
+            scale *= 10;
+        }
+        mScale = scale;
+    }
+
+    /**
+     * Integral domain, i.e. index `i` represents `base + i * step`.
+     */
+    public static ValueDomain of(long base, long step) {
+        if (base == 0 && step == 1) {
+            return IDENTITY;
+        }
+        return new ValueDomain(base, step, 0);
+    }
+
+    /**
+     * Fixed point domain.  `scaledBase` and `scaledStep` are already multiplied by
+     * `10^decimals`, so `fixedPoint(100, 25, 2)` starts at 1.00 and steps by 0.25.
+     */
+    public static ValueDomain fixedPoint(long scaledBase, long scaledStep, int decimals) {
+        if (decimals == 0) {
+            return of(scaledBase, scaledStep);
+        }
+        return new ValueDomain(scaledBase, scaledStep, decimals);
+    }
+
+    public long getBase() {
+        return mBase;
+    }
+
+    public long getStep() {
+        return mStep;
+    }
+
+    public int getDecimals() {
+        return mDecimals;
+    }
+
+    /**
+     * @return true if values have no fractional part
+     */
+    public boolean isIntegral() {
+        return mDecimals == 0;
+    }
+
+    /**
+     * @return the (scaled, for fixed point) value at the given step index
+     */
+    public long valueAt(int index) {
+        return mBase + mStep * index;
+    }
+
+    /**
+     * Inverse of {@link #valueAt(int)}; values between two steps round towards the lower index.
+     */
+    public int indexOf(long value) {
+        // Math.floorDiv is api 24+
+        long diff = value - mBase;
+        long index = diff / mStep;
+        if ((diff % mStep != 0) && ((diff < 0) != (mStep < 0))) {
+            index--;
+        }
+        return (int) index;
+    }
+
+    /**
+     * Convenience for display/analytics; not used by the slider itself.
+     */
+    public double toDouble(int index) {
+        return (double) valueAt(index) / mScale;
+    }
+
+    /**
+     * Appends the value at the given index, e.g. `42` or `10.25`.
+     */
+    public void appendValue(int index, StringBuilder out) {
+        appendScaled(valueAt(index), false, out);
+    }
+
+    /**
+     * Appends a signed value in this domain's units, e.g. `+5`, `-0.50`, `+0`.  Used for the
+     * default tick labels, which are relative to the start value.
+     */
+    public void appendSigned(long scaledValue, StringBuilder out) {
+        appendScaled(scaledValue, true, out);
+    }
+
+    private void appendScaled(long scaledValue, boolean forceSign, StringBuilder out) {
+        if (scaledValue < 0) {
+            out.append('-');
+        } else if (forceSign) {
+            out.append('+');
+        }
+
+        long abs = Math.abs(scaledValue);
+        if (mDecimals == 0) {
+            out.append(abs);
+            return;
+        }
+
+        out.append(abs / mScale).append('.');
+        long fraction = abs % mScale;
+        // left pad the fraction with zeros
+        for (long place = mScale / 10; place > 1 && fraction < place; place /= 10) {
+            out.append('0');
+        }
+        out.append(fraction);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ValueDomain)) {
+            return false;
+        }
+        ValueDomain that = (ValueDomain) o;
+        return mBase == that.mBase && mStep == that.mStep && mDecimals == that.mDecimals;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = (int) (mBase ^ (mBase >>> 32));
+        result = 31 * result + (int) (mStep ^ (mStep >>> 32));
+        result = 31 * result + mDecimals;
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "ValueDomain{" +
+                "mBase=" + mBase +
+                ", mStep=" + mStep +
+                ", mDecimals=" + mDecimals +
+                '}';
+    }
+}
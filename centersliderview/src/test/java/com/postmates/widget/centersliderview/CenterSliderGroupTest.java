@@ -0,0 +1,173 @@
+package com.postmates.widget.centersliderview;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import static com.postmates.widget.centersliderview.SliderTestUtils.layOut;
+import static com.postmates.widget.centersliderview.SliderTestUtils.sliderInfo;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class CenterSliderGroupTest {
+
+    CenterSliderGroup mGroup;
+
+    @Before
+    public void setUp() {
+        mGroup = new CenterSliderGroup();
+    }
+
+    static CenterSliderView slider(int max, int start) {
+        CenterSliderView slider = new CenterSliderView(RuntimeEnvironment.application);
+        slider.setMotionPolicy(CenterSliderView.MotionPolicy.FULL);
+        slider.setSliderInfo(sliderInfo().setBounds(0, max).setStartValue(start).build());
+        return slider;
+    }
+
+    /**
+     * Counts how often listeners were told about a selection.
+     */
+    static class CountingListener implements CenterSliderView.OnSliderListener {
+        int mCount;
+
+        @Override
+        public void onValueSelected(int newValue) {
+            mCount++;
+        }
+    }
+
+    /**
+     * What the slider does when the user lets go on value.
+     */
+    static void select(CenterSliderView slider, int value) {
+        slider.setCurrentValue(value, false);
+        slider.dispatchValueSelected();
+    }
+
+    @Test
+    public void indexAtLeast_roundsUpBetweenSteps() {
+        ValueDomain domain = ValueDomain.of(100, 5);
+        assertEquals(2, CenterSliderGroup.indexAtLeast(domain, 110));
+        assertEquals(3, CenterSliderGroup.indexAtLeast(domain, 111));
+        assertEquals(0, CenterSliderGroup.indexAtLeast(domain, 96));
+    }
+
+    @Test
+    public void indexAtMost_roundsDownBetweenSteps() {
+        ValueDomain domain = ValueDomain.of(100, 5);
+        assertEquals(2, CenterSliderGroup.indexAtMost(domain, 110));
+        assertEquals(2, CenterSliderGroup.indexAtMost(domain, 114));
+        assertEquals(-1, CenterSliderGroup.indexAtMost(domain, 99));
+    }
+
+    @Test
+    public void index_handlesDescendingDomains() {
+        ValueDomain domain = ValueDomain.of(0, -2);
+        // values 0, -2, -4, -6 at indices 0..3
+        assertEquals(2, CenterSliderGroup.indexAtLeast(domain, -5));
+        assertEquals(3, CenterSliderGroup.indexAtMost(domain, -5));
+    }
+
+    @Test
+    public void selection_propagatesAlongChain() {
+        CenterSliderView pickup = slider(100, 0);
+        CenterSliderView dropOff = slider(100, 10);
+        CenterSliderView returnTrip = slider(100, 20);
+        mGroup.add(pickup);
+        mGroup.add(dropOff);
+        mGroup.add(returnTrip);
+        mGroup.addMinDistance(pickup, dropOff, 10);
+        mGroup.addMinDistance(dropOff, returnTrip, 10);
+        CountingListener dropOffListener = new CountingListener();
+        CountingListener returnListener = new CountingListener();
+        dropOff.addOnSliderListener(dropOffListener);
+        returnTrip.addOnSliderListener(returnListener);
+
+        select(pickup, 15);
+
+        assertEquals(25, dropOff.getCurrentValue());
+        assertEquals(35, returnTrip.getCurrentValue());
+        assertEquals(1, dropOffListener.mCount);
+        assertEquals(1, returnListener.mCount);
+    }
+
+    @Test
+    public void selection_leavesDraggedSliderAlone() {
+        CenterSliderView pickup = slider(100, 0);
+        CenterSliderView dropOff = slider(100, 10);
+        mGroup.add(pickup);
+        mGroup.add(dropOff);
+        mGroup.addMinDistance(pickup, dropOff, 10);
+        CountingListener dropOffListener = new CountingListener();
+        dropOff.addOnSliderListener(dropOffListener);
+        // as if a finger were down on it
+        dropOff.mPointerId = 0;
+
+        select(pickup, 15);
+
+        assertEquals(10, dropOff.getCurrentValue());
+        assertEquals(0, dropOffListener.mCount);
+    }
+
+    @Test
+    public void selection_clampedAtBounds_onlyReportsRealChanges() {
+        CenterSliderView pickup = slider(100, 0);
+        CenterSliderView dropOff = slider(20, 10);
+        mGroup.add(pickup);
+        mGroup.add(dropOff);
+        mGroup.addMinDistance(pickup, dropOff, 10);
+        CountingListener dropOffListener = new CountingListener();
+        dropOff.addOnSliderListener(dropOffListener);
+
+        select(pickup, 15);
+        assertEquals(20, dropOff.getCurrentValue());
+        assertEquals(1, dropOffListener.mCount);
+
+        // still broken, but drop-off is already as far as it goes
+        select(pickup, 18);
+        assertEquals(20, dropOff.getCurrentValue());
+        assertEquals(1, dropOffListener.mCount);
+    }
+
+    @Test
+    public void doFrame_stepsEverySliderFromOneCallback() {
+        CenterSliderView first = slider(100, 50);
+        CenterSliderView second = slider(100, 50);
+        layOut(first);
+        layOut(second);
+        // not attached in tests
+        first.mFramesAllowed = true;
+        second.mFramesAllowed = true;
+        mGroup.add(first);
+        mGroup.add(second);
+
+        assertTrue(first.setCurrentValue(53, true));
+        assertTrue(second.setCurrentValue(47, true));
+        assertEquals(2, mGroup.mAnimating.size());
+
+        long frameNanos = 1_000_000_000L;
+        mGroup.doFrame(frameNanos);
+        assertEquals(CenterSliderView.MS_PER_FRAME, first.mTimeMs);
+        assertEquals(CenterSliderView.MS_PER_FRAME, second.mTimeMs);
+
+        for (int i = 0; i < 100 && !mGroup.mAnimating.isEmpty(); i++) {
+            frameNanos += CenterSliderView.MS_PER_FRAME * 1_000_000L;
+            mGroup.doFrame(frameNanos);
+        }
+
+        assertTrue(mGroup.mAnimating.isEmpty());
+        assertFalse(first.mIsAnimating);
+        assertFalse(second.mIsAnimating);
+        assertEquals(53, first.getCurrentValue());
+        assertEquals(47, second.getCurrentValue());
+        assertEquals(0f, first.xBarDrawOffset, 0f);
+        assertEquals(0f, second.xBarDrawOffset, 0f);
+    }
+}
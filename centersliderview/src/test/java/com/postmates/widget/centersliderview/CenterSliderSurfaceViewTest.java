@@ -0,0 +1,91 @@
+package com.postmates.widget.centersliderview;
+
+import android.graphics.SurfaceTexture;
+import android.os.CancellationSignal;
+import android.view.Choreographer;
+import android.view.MotionEvent;
+import android.view.Surface;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.postmates.widget.centersliderview.SliderTestUtils.draggerX;
+import static com.postmates.widget.centersliderview.SliderTestUtils.layOut;
+import static com.postmates.widget.centersliderview.SliderTestUtils.sliderInfo;
+import static com.postmates.widget.centersliderview.SliderTestUtils.touch;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class CenterSliderSurfaceViewTest {
+
+    CenterSliderSurfaceView mSurfaceView;
+    CenterSliderView mSlider;
+
+    @Before
+    public void setUp() {
+        mSurfaceView = new CenterSliderSurfaceView(RuntimeEnvironment.application);
+        // without a render thread, configuration is applied directly
+        mSurfaceView.setSliderInfo(sliderInfo().build());
+        mSlider = layOut(mSurfaceView.mSlider);
+    }
+
+    @Test
+    public void dwell_isForwardedFromDetachedSlider() {
+        final int[] dwelled = {-1};
+        mSurfaceView.addOnSliderListener(new CenterSliderView.OnSliderListener() {
+            @Override
+            public void onValueSelected(int newValue) {
+            }
+
+            @Override
+            public void onValueDwell(int value, CancellationSignal signal) {
+                dwelled[0] = value;
+            }
+        });
+
+        touch(mSlider, MotionEvent.ACTION_DOWN, draggerX(mSlider));
+        ShadowLooper.idleMainLooper(mSlider.getDwellThreshold(), TimeUnit.MILLISECONDS);
+
+        assertEquals(9, dwelled[0]);
+    }
+
+    @Test
+    public void dragger_changesStateWithoutAnimating() {
+        touch(mSlider, MotionEvent.ACTION_DOWN, draggerX(mSlider));
+
+        assertSame(mSlider.mDraggerAfterDrawable, mSlider.mDraggerDrawable);
+        assertFalse(mSlider.mIsAnimating);
+    }
+
+    @Test
+    public void renderLoop_stepsAnimationsByFrameTime() {
+        CenterSliderSurfaceView.RenderLoop loop = mSurfaceView.new RenderLoop(Choreographer.getInstance());
+        Surface surface = new Surface(new SurfaceTexture(0));
+        // invalid, so frames step without drawing
+        surface.release();
+        loop.mSurface = surface;
+        mSlider.mFrameDriver = loop;
+        mSlider.setMotionPolicy(CenterSliderView.MotionPolicy.FULL);
+
+        assertTrue(mSlider.setCurrentValue(12, true));
+        long frameNanos = 1_000_000_000L;
+        loop.doFrame(frameNanos);
+        assertEquals(CenterSliderView.MS_PER_FRAME, mSlider.mTimeMs);
+
+        // a dropped frame
+        frameNanos += 33_000_000L;
+        loop.doFrame(frameNanos);
+        assertEquals(CenterSliderView.MS_PER_FRAME + 33, mSlider.mTimeMs);
+    }
+}
@@ -0,0 +1,75 @@
+package com.postmates.widget.centersliderview;
+
+import android.view.MotionEvent;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static com.postmates.widget.centersliderview.SliderTestUtils.TICK_WIDTH;
+import static com.postmates.widget.centersliderview.SliderTestUtils.WIDTH;
+import static com.postmates.widget.centersliderview.SliderTestUtils.draggerX;
+import static com.postmates.widget.centersliderview.SliderTestUtils.newLaidOutSlider;
+import static com.postmates.widget.centersliderview.SliderTestUtils.sliderInfo;
+import static com.postmates.widget.centersliderview.SliderTestUtils.tick;
+import static com.postmates.widget.centersliderview.SliderTestUtils.touch;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Disabled runs longer than intervalsToEdge, so the value a drag snaps to can be off screen.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class DisabledValuesTest {
+
+    static CenterSliderView slider(int disabledFrom, int disabledTo, CenterSliderView.DragMode dragMode) {
+        CenterSliderView view = newLaidOutSlider(sliderInfo()
+                .setBounds(0, 40)
+                .addDisabledRange(disabledFrom, disabledTo)
+                .build());
+        // no edge scrolling or animation frames to step
+        view.setMotionPolicy(CenterSliderView.MotionPolicy.REDUCED);
+        view.setDragMode(dragMode);
+        return view;
+    }
+
+    static void assertCenteredOn(CenterSliderView view, int value) {
+        assertEquals(value, view.getCurrentValue());
+        CenterSliderView.TickLineInfo tick = tick(view, value);
+        assertNotNull(tick);
+        assertEquals(WIDTH / 2f, tick.pointStart.x + view.xBarDrawOffset, 0.01f);
+        assertEquals(view.mDraggerBounds.left, view.mMutableDraggerBounds.left);
+    }
+
+    @Test
+    public void dragger_releasedNextToLongRun_centersOffscreenValue() {
+        CenterSliderView view = slider(10, 19, CenterSliderView.DragMode.DRAGGER);
+        float x = draggerX(view);
+
+        // 15 is the last tick on screen; 20 is the closest enabled value
+        touch(view, MotionEvent.ACTION_DOWN, x);
+        touch(view, MotionEvent.ACTION_MOVE, x + 6 * TICK_WIDTH);
+        assertEquals(20, view.getCurrentValue());
+        assertNull(tick(view, 20));
+        touch(view, MotionEvent.ACTION_UP, x + 6 * TICK_WIDTH);
+
+        assertCenteredOn(view, 20);
+    }
+
+    @Test
+    public void ribbon_releasedInsideLongRun_centersOffscreenValue() {
+        CenterSliderView view = slider(10, 30, CenterSliderView.DragMode.RIBBON);
+        float x = draggerX(view);
+
+        // 19 under the center; 9 is closer than 31, and 10 ticks off to the left
+        touch(view, MotionEvent.ACTION_DOWN, x);
+        touch(view, MotionEvent.ACTION_MOVE, x - 10 * TICK_WIDTH);
+        assertEquals(9, view.getCurrentValue());
+        touch(view, MotionEvent.ACTION_UP, x - 10 * TICK_WIDTH);
+
+        assertCenteredOn(view, 9);
+    }
+}
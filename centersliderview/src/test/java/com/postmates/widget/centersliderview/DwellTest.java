@@ -0,0 +1,108 @@
+package com.postmates.widget.centersliderview;
+
+import android.os.CancellationSignal;
+import android.view.MotionEvent;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.postmates.widget.centersliderview.SliderTestUtils.TICK_WIDTH;
+import static com.postmates.widget.centersliderview.SliderTestUtils.draggerX;
+import static com.postmates.widget.centersliderview.SliderTestUtils.newLaidOutSlider;
+import static com.postmates.widget.centersliderview.SliderTestUtils.touch;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class DwellTest {
+
+    static final int THRESHOLD_MS = 200;
+
+    CenterSliderView mView;
+    final List<Integer> mDwellValues = new ArrayList<>();
+    final List<CancellationSignal> mSignals = new ArrayList<>();
+    float mDraggerX;
+
+    @Before
+    public void setUp() {
+        mView = newLaidOutSlider();
+        mView.setDwellThreshold(THRESHOLD_MS);
+        mView.addOnSliderListener(new CenterSliderView.OnSliderListener() {
+            @Override
+            public void onValueSelected(int newValue) {
+            }
+
+            @Override
+            public void onValueDwell(int value, CancellationSignal signal) {
+                mDwellValues.add(value);
+                mSignals.add(signal);
+            }
+        });
+        mDraggerX = draggerX(mView);
+    }
+
+    static void advance(long ms) {
+        ShadowLooper.idleMainLooper(ms, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    public void dwell_firesAfterThresholdOnHeldValue() {
+        touch(mView, MotionEvent.ACTION_DOWN, mDraggerX);
+
+        advance(THRESHOLD_MS - 1);
+        assertTrue(mDwellValues.isEmpty());
+
+        advance(1);
+        assertEquals(1, mDwellValues.size());
+        assertEquals(9, (int) mDwellValues.get(0));
+    }
+
+    @Test
+    public void dwell_restartsWhenValueChangesFirst() {
+        touch(mView, MotionEvent.ACTION_DOWN, mDraggerX);
+        advance(THRESHOLD_MS / 2);
+        touch(mView, MotionEvent.ACTION_MOVE, mDraggerX + 2 * TICK_WIDTH);
+
+        // past the threshold since the down, but not since the value changed
+        advance(THRESHOLD_MS - THRESHOLD_MS / 4);
+        assertTrue(mDwellValues.isEmpty());
+
+        advance(THRESHOLD_MS / 4);
+        assertEquals(1, mDwellValues.size());
+        assertEquals(11, (int) mDwellValues.get(0));
+    }
+
+    @Test
+    public void dwell_signalCanceledWhenDragMovesOn() {
+        touch(mView, MotionEvent.ACTION_DOWN, mDraggerX);
+        advance(THRESHOLD_MS);
+        CancellationSignal signal = mSignals.get(0);
+        assertFalse(signal.isCanceled());
+
+        touch(mView, MotionEvent.ACTION_MOVE, mDraggerX + 2 * TICK_WIDTH);
+
+        assertTrue(signal.isCanceled());
+    }
+
+    @Test
+    public void dwell_signalKeptWhenReleasedOnDwelledValue() {
+        touch(mView, MotionEvent.ACTION_DOWN, mDraggerX);
+        advance(THRESHOLD_MS);
+        CancellationSignal signal = mSignals.get(0);
+
+        touch(mView, MotionEvent.ACTION_UP, mDraggerX);
+
+        assertFalse(signal.isCanceled());
+        assertEquals(9, mView.getCurrentValue());
+    }
+}
@@ -0,0 +1,154 @@
+package com.postmates.widget.centersliderview;
+
+import android.view.MotionEvent;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static com.postmates.widget.centersliderview.SliderTestUtils.HEIGHT;
+import static com.postmates.widget.centersliderview.SliderTestUtils.TICK_WIDTH;
+import static com.postmates.widget.centersliderview.SliderTestUtils.WIDTH;
+import static com.postmates.widget.centersliderview.SliderTestUtils.sliderInfo;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class GestureTraceReplayerTest {
+
+    CenterSliderView.SliderInfo mSliderInfo;
+    int mDraggerY;
+
+    @Before
+    public void setUp() {
+        mSliderInfo = sliderInfo().setLargeTickInterval(5).build();
+
+        // lay out a throwaway view to find where the dragger ends up
+        GestureTrace.Recorder empty = new GestureTrace.Recorder();
+        empty.begin(mSliderInfo, mSliderInfo.getStartValue(), WIDTH, HEIGHT);
+        CenterSliderView view = new CenterSliderView(RuntimeEnvironment.application);
+        new GestureTraceReplayer().replay(view, empty.stop());
+        mDraggerY = view.mDraggerBounds.centerY();
+    }
+
+    /**
+     * Drags the dragger from the center by the given number of ticks over ~20 frames.
+     */
+    GestureTrace dragTrace(int ticks) {
+        GestureTrace.Recorder recorder = new GestureTrace.Recorder();
+        recorder.begin(mSliderInfo, mSliderInfo.getStartValue(), WIDTH, HEIGHT);
+        float startX = WIDTH / 2f;
+        float endX = startX + ticks * TICK_WIDTH;
+        long time = 0;
+        recorder.addEvent(time, MotionEvent.ACTION_DOWN, startX, mDraggerY);
+        int steps = 20;
+        for (int i = 1; i <= steps; i++) {
+            time += CenterSliderView.MS_PER_FRAME;
+            recorder.addEvent(time, MotionEvent.ACTION_MOVE, startX + (endX - startX) * i / steps, mDraggerY);
+            recorder.addFrame(time);
+        }
+        recorder.addEvent(time, MotionEvent.ACTION_UP, endX, mDraggerY);
+        return recorder.stop();
+    }
+
+    /**
+     * Drags from startX by the given distance over ~20 frames.
+     */
+    GestureTrace swipeTrace(float startX, float distance) {
+        GestureTrace.Recorder recorder = new GestureTrace.Recorder();
+        recorder.begin(mSliderInfo, mSliderInfo.getStartValue(), WIDTH, HEIGHT);
+        long time = 0;
+        recorder.addEvent(time, MotionEvent.ACTION_DOWN, startX, mDraggerY);
+        int steps = 20;
+        for (int i = 1; i <= steps; i++) {
+            time += CenterSliderView.MS_PER_FRAME;
+            recorder.addEvent(time, MotionEvent.ACTION_MOVE, startX + distance * i / steps, mDraggerY);
+            recorder.addFrame(time);
+        }
+        recorder.addEvent(time, MotionEvent.ACTION_UP, startX + distance, mDraggerY);
+        return recorder.stop();
+    }
+
+    CenterSliderView ribbonView() {
+        CenterSliderView view = new CenterSliderView(RuntimeEnvironment.application);
+        view.setMotionPolicy(CenterSliderView.MotionPolicy.FULL);
+        view.setDragMode(CenterSliderView.DragMode.RIBBON);
+        return view;
+    }
+
+    @Test
+    public void ribbon_mapsTickUnderCenterToValue() {
+        CenterSliderView view = ribbonView();
+        // grabbed away from the dragger; ticks moving left bring larger values to the center
+        GestureTraceReplayer.Result result =
+                new GestureTraceReplayer().replay(view, swipeTrace(300, -2.6f * TICK_WIDTH));
+
+        assertEquals(12, result.getFinalValue());
+        assertTrue(result.isSettled());
+        assertEquals(0, view.xBarDrawOffset, 0);
+        // the dragger never moved or animated
+        assertEquals(view.mDraggerBounds.left, view.mMutableDraggerBounds.left);
+        assertSame(view.mDraggerBeforeDrawable, view.mDraggerDrawable);
+
+        result = new GestureTraceReplayer().replay(view, swipeTrace(900, 1.4f * TICK_WIDTH));
+        assertEquals(8, result.getFinalValue());
+    }
+
+    @Test
+    public void ribbon_snapClampsAtMinAndMax() {
+        CenterSliderView view = ribbonView();
+
+        GestureTraceReplayer.Result result =
+                new GestureTraceReplayer().replay(view, swipeTrace(300, 15 * TICK_WIDTH));
+        assertEquals(0, result.getFinalValue());
+        assertTrue(result.isSettled());
+        assertEquals(0, view.xBarDrawOffset, 0);
+
+        result = new GestureTraceReplayer().replay(view, swipeTrace(900, -15 * TICK_WIDTH));
+        assertEquals(20, result.getFinalValue());
+        assertTrue(result.isSettled());
+        assertEquals(0, view.xBarDrawOffset, 0);
+    }
+
+    @Test
+    public void replay_endsOnDraggedValue() {
+        GestureTraceReplayer.Result result =
+                new GestureTraceReplayer().replay(new CenterSliderView(RuntimeEnvironment.application), dragTrace(2));
+
+        assertEquals(11, result.getFinalValue());
+        assertEquals(22, result.getEventCount());
+        assertTrue(result.getFrameCount() >= 20);
+    }
+
+    @Test
+    public void replay_afterSerialization_isRepeatable() throws IOException {
+        GestureTrace trace = dragTrace(-3);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        trace.writeTo(out);
+        GestureTrace read = GestureTrace.readFrom(new ByteArrayInputStream(out.toByteArray()));
+
+        assertEquals(trace.getEventCount(), read.getEventCount());
+        assertEquals(trace.getFrameCount(), read.getFrameCount());
+        assertEquals(trace.getDurationMs(), read.getDurationMs());
+
+        CenterSliderView view = new CenterSliderView(RuntimeEnvironment.application);
+        int first = new GestureTraceReplayer().replay(view, read).getFinalValue();
+        int second = new GestureTraceReplayer().replay(view, read).getFinalValue();
+        assertEquals(6, first);
+        assertEquals(first, second);
+    }
+
+    @Test(expected = IOException.class)
+    public void readFrom_rejectsGarbage() throws IOException {
+        GestureTrace.readFrom(new ByteArrayInputStream(new byte[]{1, 2, 3, 4, 5, 6, 7, 8}));
+    }
+}
@@ -0,0 +1,77 @@
+package com.postmates.widget.centersliderview;
+
+import android.content.Context;
+import android.graphics.Rect;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import static com.postmates.widget.centersliderview.SliderTestUtils.TICK_WIDTH;
+import static com.postmates.widget.centersliderview.SliderTestUtils.layOut;
+import static com.postmates.widget.centersliderview.SliderTestUtils.sliderInfo;
+import static com.postmates.widget.centersliderview.SliderTestUtils.tick;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class IntensitiesTest {
+
+    static class RecordingSlider extends CenterSliderView {
+        int mFullInvalidates;
+        Rect mDirty;
+
+        RecordingSlider(Context context) {
+            super(context);
+        }
+
+        @Override
+        public void invalidate() {
+            mFullInvalidates++;
+            super.invalidate();
+        }
+
+        @Override
+        public void invalidate(int l, int t, int r, int b) {
+            mDirty = new Rect(l, t, r, b);
+            super.invalidate(l, t, r, b);
+        }
+    }
+
+    RecordingSlider mView;
+
+    @Before
+    public void setUp() {
+        mView = new RecordingSlider(RuntimeEnvironment.application);
+        mView.setSliderInfo(sliderInfo().build());
+        layOut(mView);
+        mView.setIntensities(new float[21]);
+        mView.mFullInvalidates = 0;
+    }
+
+    @Test
+    public void updateOnScreen_invalidatesBandAroundValue() {
+        mView.updateIntensities(10, new float[]{1f}, 0, 1);
+
+        assertEquals(0, mView.mFullInvalidates);
+        float x = tick(mView, 10).pointStart.x + mView.xBarDrawOffset;
+        assertEquals(x - TICK_WIDTH, mView.mDirty.left, 1);
+        assertEquals(x + TICK_WIDTH, mView.mDirty.right, 1);
+        assertEquals(mView.mBaselineHeight, mView.mDirty.top);
+        assertEquals(mView.mBaselineHeight + mView.mIntensityHeight, mView.mDirty.bottom);
+    }
+
+    @Test
+    public void updateOffScreen_doesNotInvalidate() {
+        assertNull(tick(mView, 20));
+
+        mView.updateIntensities(20, new float[]{1f}, 0, 1);
+
+        assertEquals(0, mView.mFullInvalidates);
+        assertNull(mView.mDirty);
+    }
+}
@@ -0,0 +1,30 @@
+package com.postmates.widget.centersliderview;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class LevelOfDetailTest {
+
+    @Test
+    public void stride_isOneWhenSpacingFits() {
+        assertEquals(1, CenterSliderView.getLevelOfDetailStride(5, 20f, 8f, 1000));
+    }
+
+    @Test
+    public void stride_growsByPowersOfInterval() {
+        // 2px per value: 5 values -> 10px, 25 -> 50px
+        assertEquals(5, CenterSliderView.getLevelOfDetailStride(5, 2f, 8f, 1000));
+        assertEquals(25, CenterSliderView.getLevelOfDetailStride(5, 2f, 40f, 1000));
+    }
+
+    @Test
+    public void stride_usesPowersOfTwoForUnitInterval() {
+        assertEquals(8, CenterSliderView.getLevelOfDetailStride(1, 1f, 6f, 1000));
+    }
+
+    @Test
+    public void stride_isCappedByRange() {
+        assertEquals(25, CenterSliderView.getLevelOfDetailStride(5, 0.01f, 100f, 60));
+    }
+}
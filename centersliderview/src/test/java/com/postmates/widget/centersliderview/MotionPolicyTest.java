@@ -0,0 +1,77 @@
+package com.postmates.widget.centersliderview;
+
+import android.view.MotionEvent;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static com.postmates.widget.centersliderview.SliderTestUtils.draggerX;
+import static com.postmates.widget.centersliderview.SliderTestUtils.newLaidOutSlider;
+import static com.postmates.widget.centersliderview.SliderTestUtils.touch;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class MotionPolicyTest {
+
+    CenterSliderView mView;
+    int mFrameRequests;
+    float mDraggerX;
+
+    @Before
+    public void setUp() {
+        mView = newLaidOutSlider();
+        mView.mFrameDriver = new CenterSliderView.FrameDriver() {
+            @Override
+            public void onAnimationRequested(CenterSliderView view) {
+                mFrameRequests++;
+            }
+        };
+        mDraggerX = draggerX(mView);
+    }
+
+    @Test
+    public void reduced_finishesAnimationsWithoutFrames() {
+        mView.setMotionPolicy(CenterSliderView.MotionPolicy.REDUCED);
+
+        touch(mView, MotionEvent.ACTION_DOWN, mDraggerX);
+        assertFalse(mView.mIsAnimating);
+        assertSame(mView.mDraggerAfterDrawable, mView.mDraggerDrawable);
+
+        touch(mView, MotionEvent.ACTION_UP, mDraggerX);
+        assertFalse(mView.mIsAnimating);
+        assertSame(mView.mDraggerBeforeDrawable, mView.mDraggerDrawable);
+
+        assertTrue(mView.setCurrentValue(12, true));
+        assertFalse(mView.mIsAnimating);
+        assertEquals(12, mView.getCurrentValue());
+        assertEquals(0, mFrameRequests);
+    }
+
+    @Test
+    public void full_requestsFrames() {
+        mView.setMotionPolicy(CenterSliderView.MotionPolicy.FULL);
+
+        touch(mView, MotionEvent.ACTION_DOWN, mDraggerX);
+        assertTrue(mView.mIsAnimating);
+        assertEquals(1, mFrameRequests);
+    }
+
+    @Test
+    public void switchingToReduced_finishesRunningAnimations() {
+        mView.setMotionPolicy(CenterSliderView.MotionPolicy.FULL);
+        touch(mView, MotionEvent.ACTION_DOWN, mDraggerX);
+        assertTrue(mView.mIsAnimating);
+
+        mView.setMotionPolicy(CenterSliderView.MotionPolicy.REDUCED);
+        assertFalse(mView.mIsAnimating);
+        assertTrue(mView.mMotionReduced);
+        assertSame(mView.mDraggerAfterDrawable, mView.mDraggerDrawable);
+    }
+}
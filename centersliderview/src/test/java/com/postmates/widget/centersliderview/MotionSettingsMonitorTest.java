@@ -0,0 +1,99 @@
+package com.postmates.widget.centersliderview;
+
+import android.app.Activity;
+import android.widget.FrameLayout;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class MotionSettingsMonitorTest {
+
+    final MotionSettingsMonitor mMonitor = MotionSettingsMonitor.get();
+    FrameLayout mContainer;
+
+    @Before
+    public void setUp() {
+        Activity activity = Robolectric.setupActivity(Activity.class);
+        mContainer = new FrameLayout(activity);
+        activity.setContentView(mContainer);
+    }
+
+    @After
+    public void tearDown() {
+        // the monitor is process-wide
+        mContainer.removeAllViews();
+    }
+
+    CenterSliderView slider(CenterSliderView.MotionPolicy policy) {
+        CenterSliderView view = new CenterSliderView(RuntimeEnvironment.application);
+        view.setMotionPolicy(policy);
+        return view;
+    }
+
+    @Test
+    public void systemSliders_shareOneRegistration() {
+        CenterSliderView first = slider(CenterSliderView.MotionPolicy.SYSTEM);
+        CenterSliderView second = slider(CenterSliderView.MotionPolicy.SYSTEM);
+        assertTrue(mMonitor.mListeners.isEmpty());
+
+        mContainer.addView(first);
+        mContainer.addView(second);
+        assertEquals(2, mMonitor.mListeners.size());
+        assertNotNull(mMonitor.mContext);
+
+        mContainer.removeView(first);
+        assertNotNull(mMonitor.mContext);
+        mContainer.removeView(second);
+        assertTrue(mMonitor.mListeners.isEmpty());
+        assertNull(mMonitor.mContext);
+    }
+
+    @Test
+    public void fixedPolicies_neverRegister() {
+        mContainer.addView(slider(CenterSliderView.MotionPolicy.FULL));
+        mContainer.addView(slider(CenterSliderView.MotionPolicy.REDUCED));
+
+        assertTrue(mMonitor.mListeners.isEmpty());
+        assertNull(mMonitor.mContext);
+    }
+
+    @Test
+    public void policyChangeWhileAttached_registersAndUnregisters() {
+        CenterSliderView view = slider(CenterSliderView.MotionPolicy.FULL);
+        mContainer.addView(view);
+
+        view.setMotionPolicy(CenterSliderView.MotionPolicy.SYSTEM);
+        assertEquals(1, mMonitor.mListeners.size());
+
+        view.setMotionPolicy(CenterSliderView.MotionPolicy.REDUCED);
+        assertTrue(mMonitor.mListeners.isEmpty());
+        assertTrue(view.mMotionReduced);
+    }
+
+    @Test
+    public void systemChange_reachesAttachedSliders() {
+        CenterSliderView view = slider(CenterSliderView.MotionPolicy.SYSTEM);
+        mContainer.addView(view);
+        assertFalse(view.mMotionReduced);
+
+        view.mMotionSettingsListener.onMotionReducedChanged(true);
+        assertTrue(view.mMotionReduced);
+
+        view.mMotionSettingsListener.onMotionReducedChanged(false);
+        assertFalse(view.mMotionReduced);
+    }
+}
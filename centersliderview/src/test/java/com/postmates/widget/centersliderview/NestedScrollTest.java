@@ -0,0 +1,151 @@
+package com.postmates.widget.centersliderview;
+
+import android.content.Context;
+import android.view.MotionEvent;
+import android.widget.FrameLayout;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.postmates.widget.centersliderview.SliderTestUtils.HEIGHT;
+import static com.postmates.widget.centersliderview.SliderTestUtils.TICK_WIDTH;
+import static com.postmates.widget.centersliderview.SliderTestUtils.WIDTH;
+import static com.postmates.widget.centersliderview.SliderTestUtils.sliderInfo;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Replays gestures through a slider inside a parent, checking what the parent is told.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class NestedScrollTest {
+
+    static final int STEPS = 20;
+
+    static class RecordingParent extends FrameLayout {
+        final List<Boolean> mDisallowCalls = new ArrayList<>();
+
+        RecordingParent(Context context) {
+            super(context);
+        }
+
+        @Override
+        public void requestDisallowInterceptTouchEvent(boolean disallowIntercept) {
+            mDisallowCalls.add(disallowIntercept);
+            super.requestDisallowInterceptTouchEvent(disallowIntercept);
+        }
+    }
+
+    static class RecordingSlider extends CenterSliderView {
+        int mUnconsumedX;
+
+        RecordingSlider(Context context) {
+            super(context);
+        }
+
+        @Override
+        public boolean dispatchNestedScroll(int dxConsumed, int dyConsumed, int dxUnconsumed,
+                                            int dyUnconsumed, int[] offsetInWindow) {
+            mUnconsumedX += dxUnconsumed;
+            return super.dispatchNestedScroll(dxConsumed, dyConsumed, dxUnconsumed, dyUnconsumed,
+                    offsetInWindow);
+        }
+    }
+
+    RecordingParent mParent;
+    RecordingSlider mView;
+    float mDraggerX, mDraggerY;
+
+    @Before
+    public void setUp() {
+        mParent = new RecordingParent(RuntimeEnvironment.application);
+        mView = new RecordingSlider(RuntimeEnvironment.application);
+        // no edge scrolling, so the dragger stops at the last tick on screen
+        mView.setMotionPolicy(CenterSliderView.MotionPolicy.REDUCED);
+        mParent.addView(mView);
+
+        // lay out once to find where the dragger ends up
+        new GestureTraceReplayer().replay(mView, recorder(9).stop());
+        mDraggerX = mView.mDraggerBounds.centerX();
+        mDraggerY = mView.mDraggerBounds.centerY();
+        mParent.mDisallowCalls.clear();
+    }
+
+    static GestureTrace.Recorder recorder(int startValue) {
+        GestureTrace.Recorder recorder = new GestureTrace.Recorder();
+        recorder.begin(sliderInfo().setStartValue(startValue).build(), startValue, WIDTH, HEIGHT);
+        return recorder;
+    }
+
+    /**
+     * Moves the finger from the dragger by (dx, dy) over STEPS frames, then ends the gesture.
+     */
+    GestureTrace swipe(int startValue, float dx, float dy, int endAction) {
+        GestureTrace.Recorder recorder = recorder(startValue);
+        long time = 0;
+        recorder.addEvent(time, MotionEvent.ACTION_DOWN, mDraggerX, mDraggerY);
+        for (int i = 1; i <= STEPS; i++) {
+            time += CenterSliderView.MS_PER_FRAME;
+            recorder.addEvent(time, MotionEvent.ACTION_MOVE,
+                    mDraggerX + dx * i / STEPS, mDraggerY + dy * i / STEPS);
+            recorder.addFrame(time);
+        }
+        recorder.addEvent(time, endAction, mDraggerX + dx, mDraggerY + dy);
+        return recorder.stop();
+    }
+
+    @Test
+    public void verticalSwipe_canceledByParent_leavesValueAlone() {
+        // drifts far enough sideways to move the dragger a tick before the parent takes over
+        GestureTraceReplayer.Result result = new GestureTraceReplayer().replay(mView,
+                swipe(9, 0.8f * TICK_WIDTH, 4 * TICK_WIDTH, MotionEvent.ACTION_CANCEL));
+
+        assertEquals(9, result.getFinalValue());
+        assertTrue(result.isSettled());
+        assertEquals(-1, mView.mPointerId);
+        // mostly vertical, so the parent was never asked to keep out
+        assertTrue(mParent.mDisallowCalls.isEmpty());
+    }
+
+    @Test
+    public void disallowIntercept_onlyAfterHorizontalSlop() {
+        int slop = mView.mTouchSlop;
+
+        new GestureTraceReplayer().replay(mView, swipe(9, slop, 0, MotionEvent.ACTION_UP));
+        assertTrue(mParent.mDisallowCalls.isEmpty());
+
+        new GestureTraceReplayer().replay(mView, swipe(9, slop + STEPS, 0, MotionEvent.ACTION_UP));
+        assertEquals(1, mParent.mDisallowCalls.size());
+        assertTrue(mParent.mDisallowCalls.get(0));
+    }
+
+    @Test
+    public void dragPastMin_passesOverflowToParent() {
+        // value 0 is 3 ticks left of the dragger; the finger goes 3 more past it
+        GestureTraceReplayer.Result result = new GestureTraceReplayer().replay(mView,
+                swipe(3, -6 * TICK_WIDTH, 0, MotionEvent.ACTION_UP));
+
+        assertEquals(0, result.getFinalValue());
+        // finger moving left scrolls right
+        assertEquals(3 * TICK_WIDTH, mView.mUnconsumedX, 1);
+    }
+
+    @Test
+    public void dragPastMax_passesOverflowToParent() {
+        mView.setDragMode(CenterSliderView.DragMode.RIBBON);
+        // the ticks can move 3 ticks left before value 20 reaches the center
+        GestureTraceReplayer.Result result = new GestureTraceReplayer().replay(mView,
+                swipe(17, -5 * TICK_WIDTH, 0, MotionEvent.ACTION_UP));
+
+        assertEquals(20, result.getFinalValue());
+        assertEquals(2 * TICK_WIDTH, mView.mUnconsumedX, 1);
+    }
+}
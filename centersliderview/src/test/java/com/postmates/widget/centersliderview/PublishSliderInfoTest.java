@@ -0,0 +1,92 @@
+package com.postmates.widget.centersliderview;
+
+import android.app.Activity;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowLooper;
+
+import static com.postmates.widget.centersliderview.SliderTestUtils.sliderInfo;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class PublishSliderInfoTest {
+
+    CenterSliderView mView;
+
+    @Before
+    public void setUp() {
+        mView = new CenterSliderView(RuntimeEnvironment.application);
+        mView.setSliderInfo(info(9));
+    }
+
+    @Test
+    public void publishBeforeAttach_appliedOnMainLooper() throws InterruptedException {
+        publishFromWorker(info(3));
+        ShadowLooper.idleMainLooper();
+
+        assertFalse(mView.isAttachedToWindow());
+        assertEquals(3, mView.getCurrentValue());
+
+        // nothing is left pending to block later publishes
+        publishFromWorker(info(4));
+        ShadowLooper.idleMainLooper();
+        assertEquals(4, mView.getCurrentValue());
+    }
+
+    @Test
+    public void publishBeforeAttach_appliedOnAttach() throws InterruptedException {
+        publishFromWorker(info(3));
+
+        attach();
+        assertEquals(3, mView.getCurrentValue());
+
+        // the queued run finds nothing left to apply
+        mView.setCurrentValue(5, false);
+        ShadowLooper.idleMainLooper();
+        assertEquals(5, mView.getCurrentValue());
+    }
+
+    @Test
+    public void publishAfterAttach_appliesLatest() throws InterruptedException {
+        attach();
+
+        publishFromWorker(info(3));
+        publishFromWorker(info(7));
+        ShadowLooper.idleMainLooper();
+        assertEquals(7, mView.getCurrentValue());
+
+        publishFromWorker(info(12));
+        ShadowLooper.idleMainLooper();
+        assertEquals(12, mView.getCurrentValue());
+    }
+
+    private void attach() {
+        Activity activity = Robolectric.setupActivity(Activity.class);
+        activity.setContentView(mView);
+        assertTrue(mView.isAttachedToWindow());
+    }
+
+    private void publishFromWorker(final CenterSliderView.SliderInfo info) throws InterruptedException {
+        Thread worker = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                mView.publishSliderInfo(info);
+            }
+        });
+        worker.start();
+        worker.join();
+    }
+
+    private static CenterSliderView.SliderInfo info(int startValue) {
+        return sliderInfo().setStartValue(startValue).build();
+    }
+}
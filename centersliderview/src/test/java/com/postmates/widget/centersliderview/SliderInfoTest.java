@@ -0,0 +1,164 @@
+package com.postmates.widget.centersliderview;
+
+import com.postmates.widget.centersliderview.CenterSliderView.SliderInfo;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class SliderInfoTest {
+
+    @Test
+    public void build_precomputesLabels() {
+        SliderInfo info = new SliderInfo.Builder()
+                .setBounds(0, 20)
+                .setLargeTickInterval(5)
+                .setStartValue(9)
+                .setValueTextOverride(9, "Predicted")
+                .build();
+        StringBuilder sb = new StringBuilder();
+
+        assertTrue(info.isLargeTick(4));
+        assertTrue(info.isLargeTick(14));
+        assertFalse(info.isLargeTick(10));
+        assertEquals("-5", info.getTickLabel(4, sb));
+        assertEquals("+10", info.getTickLabel(19, sb));
+        assertEquals("Predicted", info.getTickLabel(9, sb));
+        assertNull(info.getTickLabel(10, sb));
+        // precomputed labels are shared rather than reformatted
+        assertSame(info.getTickLabel(14, sb), info.getTickLabel(14, sb));
+    }
+
+    @Test
+    public void build_formatsOnDemandPastTableLimit() {
+        int max = SliderInfo.MAX_PRECOMPUTED_LABELS * 2;
+        SliderInfo info = new SliderInfo.Builder()
+                .setBounds(0, max)
+                .setLargeTickInterval(1)
+                .setStartValue(0)
+                .build();
+
+        assertNull(info.mLargeTickLabels);
+        assertEquals("+" + max, info.getTickLabel(max, new StringBuilder()));
+    }
+
+    @Test
+    public void builder_doesNotMutateBuiltInfo() {
+        SliderInfo.Builder builder = new SliderInfo.Builder().setBounds(0, 10).setStartValue(5);
+        SliderInfo first = builder.build();
+        builder.setStartValue(7).setValueTextOverride(7, "Now");
+
+        assertEquals(5, first.getStartValue());
+        assertNull(first.getTextOverride(7));
+
+        SliderInfo copy = new SliderInfo.Builder(builder.build()).build();
+        assertEquals(7, copy.getStartValue());
+        assertEquals("Now", copy.getTextOverride(7));
+    }
+
+    @Test
+    public void disabledValues_snapToNearestEnabled() {
+        SliderInfo info = new SliderInfo.Builder()
+                .setBounds(0, 100_000)
+                .setStartValue(0)
+                .addDisabledRange(10, 20)
+                .addDisabledRange(50_000, 99_999)
+                .addDisabledValue(200_000) // outside the bounds, ignored
+                .build();
+
+        assertTrue(info.isEnabled(9));
+        assertFalse(info.isEnabled(10));
+        assertFalse(info.isEnabled(20));
+        // outside the bounds
+        assertFalse(info.isEnabled(-1));
+        assertFalse(info.isEnabled(100_001));
+        assertEquals(9, info.getNearestEnabledValue(12, true));
+        assertEquals(21, info.getNearestEnabledValue(18, false));
+        // equally far: 9 and 21 from 15
+        assertEquals(21, info.getNearestEnabledValue(15, true));
+        assertEquals(9, info.getNearestEnabledValue(15, false));
+        assertEquals(49_999, info.getNearestEnabledValue(60_000, true));
+        assertEquals(100_000, info.getNearestEnabledValue(99_000, false));
+        assertEquals(30, info.getNearestEnabledValue(30, true));
+    }
+
+    @Test
+    public void disabledValues_longGap_matchesLinearScan() {
+        SliderInfo info = new SliderInfo.Builder()
+                .setBounds(-10, 100_000)
+                .setStartValue(0)
+                .addDisabledRange(-10, -5) // runs touching both bounds
+                .addDisabledRange(99_990, 100_000)
+                .addDisabledRange(1_000, 40_000) // overlapping ranges merge into one ~50k gap
+                .addDisabledRange(30_000, 51_000)
+                .addDisabledRange(51_001, 51_002)
+                .addDisabledValue(60_000)
+                .addDisabledValue(60_002)
+                .build();
+
+        assertEquals(999, info.getNearestEnabledValue(1_000, true));
+        assertEquals(51_003, info.getNearestEnabledValue(51_002, false));
+        // equally far: 999 and 51_003 from 26_001
+        assertEquals(51_003, info.getNearestEnabledValue(26_001, true));
+        assertEquals(999, info.getNearestEnabledValue(26_001, false));
+        assertEquals(60_001, info.getNearestEnabledValue(60_002, false));
+        assertEquals(-4, info.getNearestEnabledValue(-10, false));
+        assertEquals(99_989, info.getNearestEnabledValue(100_000, true));
+        for (int value = -10; value <= 100_000; value += 97) {
+            assertEquals(nearestByScan(info, value, true), info.getNearestEnabledValue(value, true));
+            assertEquals(nearestByScan(info, value, false), info.getNearestEnabledValue(value, false));
+        }
+    }
+
+    private static int nearestByScan(SliderInfo info, int value, boolean preferLarger) {
+        for (int distance = 0; ; distance++) {
+            int first = preferLarger ? value + distance : value - distance;
+            int second = preferLarger ? value - distance : value + distance;
+            if (first >= info.mMinValue && first <= info.mMaxValue && info.isEnabled(first)) {
+                return first;
+            }
+            if (second >= info.mMinValue && second <= info.mMaxValue && info.isEnabled(second)) {
+                return second;
+            }
+        }
+    }
+
+    @Test
+    public void disabledValues_surviveCopy() {
+        SliderInfo info = new SliderInfo.Builder()
+                .setBounds(0, 30)
+                .setStartValue(0)
+                .addDisabledRange(3, 5)
+                .addDisabledValue(9)
+                .build();
+        SliderInfo copy = new SliderInfo.Builder(info).build();
+
+        for (int value = 0; value <= 30; value++) {
+            assertEquals(info.isEnabled(value), copy.isEnabled(value));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void build_rejectsDisabledStart() {
+        new SliderInfo.Builder().setBounds(0, 10).setStartValue(5).addDisabledRange(4, 6).build();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void build_rejectsZeroLargeTickInterval() {
+        new SliderInfo.Builder().setLargeTickInterval(0).build();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void build_rejectsStartOutsideBounds() {
+        new SliderInfo.Builder().setBounds(0, 10).setStartValue(11).build();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void build_rejectsInvertedBounds() {
+        new SliderInfo.Builder().setBounds(10, 0).setStartValue(5).build();
+    }
+}
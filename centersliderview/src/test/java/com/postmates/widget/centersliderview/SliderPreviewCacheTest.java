@@ -0,0 +1,101 @@
+package com.postmates.widget.centersliderview;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.view.MotionEvent;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static com.postmates.widget.centersliderview.SliderTestUtils.HEIGHT;
+import static com.postmates.widget.centersliderview.SliderTestUtils.WIDTH;
+import static com.postmates.widget.centersliderview.SliderTestUtils.draggerX;
+import static com.postmates.widget.centersliderview.SliderTestUtils.newLaidOutSlider;
+import static com.postmates.widget.centersliderview.SliderTestUtils.touch;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class SliderPreviewCacheTest {
+
+    SliderPreviewCache mCache;
+    Canvas mCanvas;
+
+    @Before
+    public void setUp() {
+        mCache = new SliderPreviewCache(16 * 1024 * 1024);
+        mCanvas = new Canvas(Bitmap.createBitmap(WIDTH, HEIGHT, Bitmap.Config.ARGB_8888));
+    }
+
+    CenterSliderView previewView() {
+        CenterSliderView view = newLaidOutSlider();
+        view.enterPreviewMode(mCache);
+        return view;
+    }
+
+    int cachedBitmaps() {
+        return mCache.mCache.snapshot().size();
+    }
+
+    @Test
+    public void equalViews_shareOneBitmap() {
+        previewView().draw(mCanvas);
+        previewView().draw(mCanvas);
+
+        assertEquals(1, cachedBitmaps());
+    }
+
+    @Test
+    public void valueChange_missesCache() {
+        previewView().draw(mCanvas);
+        CenterSliderView other = previewView();
+        other.setCurrentValue(10, false);
+        other.draw(mCanvas);
+
+        assertEquals(2, cachedBitmaps());
+    }
+
+    @Test
+    public void styleChange_missesCache() {
+        previewView().draw(mCanvas);
+        CenterSliderView other = previewView();
+        // as if inflated with a different baseLineColor
+        other.mStyle = other.mStyle.clone();
+        other.mStyle[0] = Color.RED;
+        other.draw(mCanvas);
+
+        assertEquals(2, cachedBitmaps());
+    }
+
+    @Test
+    public void intensityUpdate_missesCache() {
+        CenterSliderView view = previewView();
+        view.setIntensities(new float[]{0.5f, 1f});
+        view.draw(mCanvas);
+        view.draw(mCanvas);
+        assertEquals(1, cachedBitmaps());
+
+        view.updateIntensities(1, new float[]{0.25f}, 0, 1);
+        view.draw(mCanvas);
+
+        assertEquals(2, cachedBitmaps());
+    }
+
+    @Test
+    public void touchOnDragger_exitsPreviewMode() {
+        CenterSliderView view = previewView();
+        view.draw(mCanvas);
+        assertTrue(view.isPreviewMode());
+
+        touch(view, MotionEvent.ACTION_DOWN, draggerX(view));
+
+        assertFalse(view.isPreviewMode());
+        assertFalse(view.mTickLines.isEmpty());
+    }
+}
@@ -0,0 +1,87 @@
+package com.postmates.widget.centersliderview;
+
+import android.view.MotionEvent;
+import android.view.View;
+
+import org.robolectric.RuntimeEnvironment;
+
+/**
+ * Shared fixture for the view tests: a 1200x300 slider with 6 intervals to each edge, so ticks
+ * are 100px apart, over 0..20 starting at 9.
+ */
+final class SliderTestUtils {
+
+    static final int WIDTH = 1200;
+    static final int HEIGHT = 300;
+    static final int TICK_WIDTH = 100;
+    static final int START_VALUE = 9;
+
+    private SliderTestUtils() {
+    }
+
+    /**
+     * The default info; callers may change bounds, start value etc. before building.
+     */
+    static CenterSliderView.SliderInfo.Builder sliderInfo() {
+        return new CenterSliderView.SliderInfo.Builder()
+                .setBounds(0, 20)
+                .setIntervalsToEdge(6)
+                .setStartValue(START_VALUE);
+    }
+
+    static CenterSliderView newLaidOutSlider() {
+        return newLaidOutSlider(sliderInfo().build());
+    }
+
+    static CenterSliderView newLaidOutSlider(CenterSliderView.SliderInfo info) {
+        CenterSliderView view = new CenterSliderView(RuntimeEnvironment.application);
+        view.setSliderInfo(info);
+        return layOut(view);
+    }
+
+    /**
+     * Measures and lays out the view at exactly WIDTH x HEIGHT.
+     */
+    static <T extends View> T layOut(T view) {
+        view.measure(
+                View.MeasureSpec.makeMeasureSpec(WIDTH, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(HEIGHT, View.MeasureSpec.EXACTLY));
+        view.layout(0, 0, WIDTH, HEIGHT);
+        return view;
+    }
+
+    /**
+     * @return the view's tick for value, or null if it isn't on screen
+     */
+    static CenterSliderView.TickLineInfo tick(CenterSliderView view, int value) {
+        for (CenterSliderView.TickLineInfo tickLine : view.mTickLines) {
+            if (tickLine.value == value) {
+                return tickLine;
+            }
+        }
+        return null;
+    }
+
+    static float draggerX(CenterSliderView view) {
+        return view.mDraggerBounds.centerX();
+    }
+
+    static float draggerY(CenterSliderView view) {
+        return view.mDraggerBounds.centerY();
+    }
+
+    /**
+     * Sends a single pointer event at x, level with the dragger.
+     * @return what onTouchEvent returned
+     */
+    static boolean touch(CenterSliderView view, int action, float x) {
+        return touch(view, action, x, draggerY(view));
+    }
+
+    static boolean touch(View view, int action, float x, float y) {
+        MotionEvent event = MotionEvent.obtain(0, 0, action, x, y, 0);
+        boolean handled = view.onTouchEvent(event);
+        event.recycle();
+        return handled;
+    }
+}
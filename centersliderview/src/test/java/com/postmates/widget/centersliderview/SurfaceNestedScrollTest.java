@@ -0,0 +1,132 @@
+package com.postmates.widget.centersliderview;
+
+import android.content.Context;
+import android.graphics.SurfaceTexture;
+import android.view.Choreographer;
+import android.view.MotionEvent;
+import android.view.Surface;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import static com.postmates.widget.centersliderview.SliderTestUtils.TICK_WIDTH;
+import static com.postmates.widget.centersliderview.SliderTestUtils.draggerX;
+import static com.postmates.widget.centersliderview.SliderTestUtils.draggerY;
+import static com.postmates.widget.centersliderview.SliderTestUtils.layOut;
+import static com.postmates.widget.centersliderview.SliderTestUtils.sliderInfo;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * What the parent of a {@link CenterSliderSurfaceView} is told, which is decided on the UI
+ * thread, while the render loop is stepped by hand.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class SurfaceNestedScrollTest {
+
+    static final int STEPS = 20;
+
+    static class RecordingSurfaceView extends CenterSliderSurfaceView {
+        int mUnconsumedX;
+
+        RecordingSurfaceView(Context context) {
+            super(context);
+        }
+
+        @Override
+        public boolean dispatchNestedScroll(int dxConsumed, int dyConsumed, int dxUnconsumed,
+                                            int dyUnconsumed, int[] offsetInWindow) {
+            mUnconsumedX += dxUnconsumed;
+            return super.dispatchNestedScroll(dxConsumed, dyConsumed, dxUnconsumed, dyUnconsumed,
+                    offsetInWindow);
+        }
+    }
+
+    NestedScrollTest.RecordingParent mParent;
+    RecordingSurfaceView mSurfaceView;
+    CenterSliderSurfaceView.RenderLoop mLoop;
+    long mFrameNanos = 1_000_000_000L;
+    float mDraggerX, mDraggerY;
+
+    @Before
+    public void setUp() {
+        mParent = new NestedScrollTest.RecordingParent(RuntimeEnvironment.application);
+        mSurfaceView = new RecordingSurfaceView(RuntimeEnvironment.application);
+        mParent.addView(mSurfaceView);
+        // without a render thread, configuration is applied directly
+        mSurfaceView.setMotionPolicy(CenterSliderView.MotionPolicy.REDUCED);
+        mSurfaceView.setSliderInfo(sliderInfo().setStartValue(3).build());
+        CenterSliderView slider = layOut(mSurfaceView.mSlider);
+        mDraggerX = draggerX(slider);
+        mDraggerY = draggerY(slider);
+
+        mLoop = mSurfaceView.new RenderLoop(Choreographer.getInstance());
+        Surface surface = new Surface(new SurfaceTexture(0));
+        // invalid, so frames run without drawing
+        surface.release();
+        mLoop.mSurface = surface;
+        mSurfaceView.mRenderLoop = mLoop;
+        slider.mFrameDriver = mLoop;
+        // publishes the touch bounds
+        frame();
+    }
+
+    void frame() {
+        mFrameNanos += CenterSliderView.MS_PER_FRAME * 1_000_000L;
+        mLoop.doFrame(mFrameNanos);
+    }
+
+    boolean touch(int action, float x, float y) {
+        boolean handled = SliderTestUtils.touch(mSurfaceView, action, x, y);
+        frame();
+        return handled;
+    }
+
+    @Test
+    public void downOffSlider_leftToParent() {
+        assertFalse(touch(MotionEvent.ACTION_DOWN, mDraggerX - 4 * TICK_WIDTH, mDraggerY));
+        assertEquals(-1, mSurfaceView.mSlider.mPointerId);
+    }
+
+    @Test
+    public void downOnDragger_startsDrag() {
+        assertTrue(touch(MotionEvent.ACTION_DOWN, mDraggerX, mDraggerY));
+        assertEquals(0, mSurfaceView.mSlider.mPointerId);
+    }
+
+    @Test
+    public void disallowIntercept_onlyAfterHorizontalSlop() {
+        int slop = mSurfaceView.mTouchSlop;
+
+        touch(MotionEvent.ACTION_DOWN, mDraggerX, mDraggerY);
+        touch(MotionEvent.ACTION_MOVE, mDraggerX + slop, mDraggerY);
+        assertTrue(mParent.mDisallowCalls.isEmpty());
+
+        touch(MotionEvent.ACTION_MOVE, mDraggerX + slop + 1, mDraggerY);
+        assertEquals(1, mParent.mDisallowCalls.size());
+        assertTrue(mParent.mDisallowCalls.get(0));
+    }
+
+    @Test
+    public void dragPastMin_passesOverflowToParent() {
+        // value 0 is 3 ticks left of the dragger; the finger goes 3 more past it
+        float endX = mDraggerX - 6 * TICK_WIDTH;
+        touch(MotionEvent.ACTION_DOWN, mDraggerX, mDraggerY);
+        for (int i = 1; i <= STEPS; i++) {
+            touch(MotionEvent.ACTION_MOVE, mDraggerX + (endX - mDraggerX) * i / STEPS, mDraggerY);
+        }
+        // the overflow is passed on a frame late
+        touch(MotionEvent.ACTION_MOVE, endX, mDraggerY);
+        touch(MotionEvent.ACTION_UP, endX, mDraggerY);
+
+        assertEquals(0, mSurfaceView.mSlider.getCurrentValue());
+        // finger moving left scrolls right
+        assertEquals(3 * TICK_WIDTH, mSurfaceView.mUnconsumedX, 1);
+    }
+}
@@ -0,0 +1,81 @@
+package com.postmates.widget.centersliderview;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TouchEventQueueTest {
+
+    static final int ACTION_UP = 1;
+    static final int ACTION_MOVE = 2;
+
+    @Test
+    public void capacity_roundsUpToPowerOfTwo() {
+        assertEquals(256, new TouchEventQueue(200).mCapacity);
+        assertEquals(256, new TouchEventQueue(256).mCapacity);
+    }
+
+    @Test
+    public void offer_dropsWhenFull() {
+        TouchEventQueue queue = new TouchEventQueue(4);
+        for (int i = 0; i < 3; i++) {
+            assertTrue(queue.offer(i, ACTION_MOVE, i, 0));
+        }
+        assertFalse(queue.offer(3, ACTION_MOVE, 3, 0));
+
+        TouchEventQueue.Event event = new TouchEventQueue.Event();
+        assertTrue(queue.poll(event));
+        assertEquals(0, event.time);
+        assertTrue(queue.offer(4, ACTION_MOVE, 4, 0));
+    }
+
+    @Test
+    public void offer_keepsLastSlotForUp() {
+        TouchEventQueue queue = new TouchEventQueue(4);
+        for (int i = 0; i < 3; i++) {
+            assertTrue(queue.offer(i, ACTION_MOVE, i, 0));
+        }
+        assertFalse(queue.offer(3, ACTION_MOVE, 3, 0));
+        assertTrue(queue.offer(4, ACTION_UP, 4, 0));
+        assertFalse(queue.offer(5, ACTION_UP, 5, 0));
+
+        TouchEventQueue.Event event = new TouchEventQueue.Event();
+        for (int i = 0; i < 4; i++) {
+            assertTrue(queue.poll(event));
+        }
+        assertEquals(4, event.time);
+        assertEquals(ACTION_UP, event.action);
+    }
+
+    @Test
+    public void poll_preservesOrderAcrossThreads() throws InterruptedException {
+        final TouchEventQueue queue = new TouchEventQueue(16);
+        final int count = 200_000;
+        Thread producer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 0; i < count; ) {
+                    if (queue.offer(i, ACTION_MOVE, i, -i)) {
+                        i++;
+                    }
+                }
+            }
+        });
+        producer.start();
+
+        TouchEventQueue.Event event = new TouchEventQueue.Event();
+        for (int i = 0; i < count; ) {
+            if (queue.poll(event)) {
+                assertEquals(i, event.time);
+                assertEquals(ACTION_MOVE, event.action);
+                assertEquals((float) i, event.xs[0], 0f);
+                assertEquals((float) -i, event.ys[0], 0f);
+                i++;
+            }
+        }
+        producer.join();
+        assertTrue(queue.isEmpty());
+    }
+}
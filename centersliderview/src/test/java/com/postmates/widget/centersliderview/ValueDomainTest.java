@@ -0,0 +1,68 @@
+package com.postmates.widget.centersliderview;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class ValueDomainTest {
+
+    private static String value(ValueDomain domain, int index) {
+        StringBuilder sb = new StringBuilder();
+        domain.appendValue(index, sb);
+        return sb.toString();
+    }
+
+    private static String signed(ValueDomain domain, long scaledValue) {
+        StringBuilder sb = new StringBuilder();
+        domain.appendSigned(scaledValue, sb);
+        return sb.toString();
+    }
+
+    @Test
+    public void identity_matchesIndex() {
+        ValueDomain domain = ValueDomain.of(0, 1);
+        assertSame(ValueDomain.IDENTITY, domain);
+        assertEquals(17, domain.valueAt(17));
+        assertEquals(-3, domain.indexOf(-3));
+        assertEquals("+5", signed(domain, 5));
+        assertEquals("+0", signed(domain, 0));
+        assertEquals("-12", signed(domain, -12));
+    }
+
+    @Test
+    public void epochMinutes_doNotOverflowInt() {
+        long base = 29_000_000L * 60; // well past Integer.MAX_VALUE
+        ValueDomain domain = ValueDomain.of(base, 1);
+        assertEquals(base + 240, domain.valueAt(240));
+        assertEquals(240, domain.indexOf(base + 240));
+        assertEquals(Long.toString(base + 240), value(domain, 240));
+    }
+
+    @Test
+    public void fixedPoint_formatsFraction() {
+        ValueDomain quarterMiles = ValueDomain.fixedPoint(0, 25, 2);
+        assertEquals("0.25", value(quarterMiles, 1));
+        assertEquals("2.00", value(quarterMiles, 8));
+        assertEquals("+0.50", signed(quarterMiles, 50));
+        assertEquals("-1.05", signed(quarterMiles, -105));
+        assertEquals(1.25, quarterMiles.toDouble(5), 0.0001);
+
+        ValueDomain thousandths = ValueDomain.fixedPoint(0, 5, 3);
+        assertEquals("0.005", value(thousandths, 1));
+    }
+
+    @Test
+    public void indexOf_roundsDown() {
+        ValueDomain domain = ValueDomain.of(10, 5);
+        assertEquals(0, domain.indexOf(14));
+        assertEquals(-1, domain.indexOf(9));
+        assertEquals(-1, domain.indexOf(5));
+        assertEquals(-2, domain.indexOf(4));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void zeroStep_throws() {
+        ValueDomain.of(0, 0);
+    }
+}
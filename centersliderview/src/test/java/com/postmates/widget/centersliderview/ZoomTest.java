@@ -0,0 +1,79 @@
+package com.postmates.widget.centersliderview;
+
+import android.view.MotionEvent;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static com.postmates.widget.centersliderview.SliderTestUtils.WIDTH;
+import static com.postmates.widget.centersliderview.SliderTestUtils.newLaidOutSlider;
+import static com.postmates.widget.centersliderview.SliderTestUtils.sliderInfo;
+import static com.postmates.widget.centersliderview.SliderTestUtils.tick;
+import static com.postmates.widget.centersliderview.SliderTestUtils.touch;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class ZoomTest {
+
+    CenterSliderView mView;
+
+    @Before
+    public void setUp() {
+        // no padding, so the baseline spans the whole width
+        mView = newLaidOutSlider(sliderInfo().setBounds(0, 100).setStartValue(50).build());
+    }
+
+    @Test
+    public void downOffDragger_leftToParentUnlessZoomEnabled() {
+        // far left, above the tooltip
+        assertFalse(touch(mView, MotionEvent.ACTION_DOWN, 10, 0));
+
+        // kept so a second finger can still turn it into a pinch
+        mView.setZoomEnabled(true);
+        assertTrue(touch(mView, MotionEvent.ACTION_DOWN, 10, 0));
+        touch(mView, MotionEvent.ACTION_MOVE, 400, 0);
+        touch(mView, MotionEvent.ACTION_UP, 400, 0);
+        assertEquals(-1, mView.mPointerId);
+        assertEquals(50, mView.getCurrentValue());
+    }
+
+    @Test
+    public void zoomIn_keepsCurrentValueCenteredOnExistingTicks() {
+        CenterSliderView.TickLineInfo current = tick(mView, 50);
+        CenterSliderView.TickLineInfo neighbor = tick(mView, 52);
+
+        mView.setIntervalsToEdge(3);
+
+        assertFalse(mView.mInitTickLines);
+        assertEquals(50, mView.getCurrentValue());
+        // moved in place rather than re-created
+        assertSame(current, tick(mView, 50));
+        assertSame(neighbor, tick(mView, 52));
+        assertEquals(WIDTH / 2f, current.pointStart.x, 0.01f);
+        assertEquals(WIDTH / 2f + 2 * WIDTH / 6f, neighbor.pointStart.x, 0.01f);
+        // no longer fits
+        assertEquals(null, tick(mView, 56));
+    }
+
+    @Test
+    public void zoomOut_addsTicksTowardsTheEdges() {
+        CenterSliderView.TickLineInfo current = tick(mView, 50);
+
+        mView.setIntervalsToEdge(12);
+
+        assertFalse(mView.mInitTickLines);
+        assertSame(current, tick(mView, 50));
+        assertEquals(WIDTH / 2f, current.pointStart.x, 0.01f);
+        CenterSliderView.TickLineInfo added = tick(mView, 61);
+        assertNotNull(added);
+        assertEquals(WIDTH / 2f + 11 * WIDTH / 24f, added.pointStart.x, 0.01f);
+    }
+}
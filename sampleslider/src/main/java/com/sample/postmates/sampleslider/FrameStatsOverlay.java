@@ -0,0 +1,165 @@
+package com.sample.postmates.sampleslider;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.os.Debug;
+import android.os.Handler;
+import android.view.Choreographer;
+import android.view.FrameMetrics;
+import android.view.Window;
+import android.widget.TextView;
+
+import java.util.Locale;
+
+/**
+ * Collects per frame stats and shows them in a TextView:
+ * - jank, from {@link Choreographer} frame intervals (any frame longer than 1.5 vsyncs)
+ * - draw / total frame time, from {@link FrameMetrics} (N+)
+ * - heap churn, from the growth of the java heap between frames and the GC count
+ */
+public class FrameStatsOverlay implements Choreographer.FrameCallback {
+
+    static final long FRAME_NANOS = 16_666_667L;
+    static final long JANK_NANOS = FRAME_NANOS * 3 / 2;
+    static final long UPDATE_INTERVAL_NANOS = 500_000_000L;
+
+    final TextView mTextView;
+    final Window mWindow;
+    final Runtime mRuntime = Runtime.getRuntime();
+    boolean mRunning;
+
+    // Choreographer derived, reset every update
+    long mLastFrameNanos;
+    long mLastUpdateNanos;
+    int mFrames;
+    int mJankyFrames;
+    long mWorstFrameNanos;
+    // heap growth between frames; a GC shows up as a drop, so only growth is counted
+    long mLastUsedBytes;
+    long mAllocatedBytes;
+    String mStartGcCount;
+
+    // FrameMetrics derived, written on the main thread via the handler below
+    long mDrawNanos;
+    long mTotalNanos;
+    int mMetricsFrames;
+    Object mFrameMetricsListener;
+
+    public FrameStatsOverlay(Window window, TextView textView) {
+        mWindow = window;
+        mTextView = textView;
+    }
+
+    public void start() {
+        if (mRunning) {
+            return;
+        }
+        mRunning = true;
+        mLastFrameNanos = 0;
+        mLastUpdateNanos = 0;
+        mLastUsedBytes = usedBytes();
+        mStartGcCount = Debug.getRuntimeStat("art.gc.gc-count");
+        Choreographer.getInstance().postFrameCallback(this);
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.N) {
+            startFrameMetrics();
+        }
+    }
+
+    public void stop() {
+        mRunning = false;
+        Choreographer.getInstance().removeFrameCallback(this);
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.N) {
+            stopFrameMetrics();
+        }
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        if (!mRunning) {
+            return;
+        }
+
+        if (mLastFrameNanos != 0) {
+            long interval = frameTimeNanos - mLastFrameNanos;
+            mFrames++;
+            if (interval > JANK_NANOS) {
+                mJankyFrames++;
+            }
+            mWorstFrameNanos = Math.max(mWorstFrameNanos, interval);
+        } else {
+            mLastUpdateNanos = frameTimeNanos;
+        }
+        mLastFrameNanos = frameTimeNanos;
+
+        long used = usedBytes();
+        if (used > mLastUsedBytes) {
+            mAllocatedBytes += used - mLastUsedBytes;
+        }
+        mLastUsedBytes = used;
+
+        if (frameTimeNanos - mLastUpdateNanos >= UPDATE_INTERVAL_NANOS) {
+            update(frameTimeNanos - mLastUpdateNanos);
+            mLastUpdateNanos = frameTimeNanos;
+        }
+        Choreographer.getInstance().postFrameCallback(this);
+    }
+
+    private void update(long elapsedNanos) {
+        float seconds = elapsedNanos / 1e9f;
+        String gcCount = Debug.getRuntimeStat("art.gc.gc-count");
+        String text = String.format(Locale.US,
+                "fps %.1f  jank %d/%d  worst %.1fms\n" +
+                        "draw %.2fms  total %.2fms\n" +
+                        "heap churn %.1f KB/s  gc %s (since start)",
+                mFrames / seconds, mJankyFrames, mFrames, mWorstFrameNanos / 1e6f,
+                mMetricsFrames == 0 ? 0f : mDrawNanos / 1e6f / mMetricsFrames,
+                mMetricsFrames == 0 ? 0f : mTotalNanos / 1e6f / mMetricsFrames,
+                mAllocatedBytes / 1024f / seconds,
+                gcDelta(gcCount));
+        mTextView.setText(text);
+
+        mFrames = 0;
+        mJankyFrames = 0;
+        mWorstFrameNanos = 0;
+        mAllocatedBytes = 0;
+        mDrawNanos = 0;
+        mTotalNanos = 0;
+        mMetricsFrames = 0;
+    }
+
+    private String gcDelta(String gcCount) {
+        try {
+            return Long.toString(Long.parseLong(gcCount) - Long.parseLong(mStartGcCount));
+        } catch (NumberFormatException e) {
+            return "?";
+        }
+    }
+
+    private long usedBytes() {
+        return mRuntime.totalMemory() - mRuntime.freeMemory();
+    }
+
+    @TargetApi(Build.VERSION_CODES.N)
+    private void startFrameMetrics() {
+        Window.OnFrameMetricsAvailableListener listener = new Window.OnFrameMetricsAvailableListener() {
+            @Override
+            public void onFrameMetricsAvailable(Window window, FrameMetrics frameMetrics, int dropCount) {
+                mDrawNanos += frameMetrics.getMetric(FrameMetrics.DRAW_DURATION);
+                mTotalNanos += frameMetrics.getMetric(FrameMetrics.TOTAL_DURATION);
+                mMetricsFrames++;
+            }
+        };
+        mFrameMetricsListener = listener;
+        // deliver on the main thread so the counters don't need synchronization
+        mWindow.addOnFrameMetricsAvailableListener(listener, new Handler());
+    }
+
+    @TargetApi(Build.VERSION_CODES.N)
+    private void stopFrameMetrics() {
+        if (mFrameMetricsListener != null) {
+            mWindow.removeOnFrameMetricsAvailableListener(
+                    (Window.OnFrameMetricsAvailableListener) mFrameMetricsListener);
+            mFrameMetricsListener = null;
+        }
+    }
+}
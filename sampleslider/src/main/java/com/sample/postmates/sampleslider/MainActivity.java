@@ -1,5 +1,6 @@
 package com.sample.postmates.sampleslider;
 
+import android.content.Intent;
 import android.support.v7.app.AppCompatActivity;
 import android.os.Bundle;
 import android.view.View;
@@ -47,4 +48,11 @@ public class MainActivity extends AppCompatActivity {
         selectedText.setText("Selected: ");
     }
 
+    /**
+     * Happens when R.id.stress_button is clicked.
+     */
+    public void stressClicked(View view) {
+        startActivity(new Intent(this, StressActivity.class));
+    }
+
 }
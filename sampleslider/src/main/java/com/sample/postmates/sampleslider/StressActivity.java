@@ -0,0 +1,245 @@
+package com.sample.postmates.sampleslider;
+
+import android.graphics.Rect;
+import android.os.Bundle;
+import android.os.SystemClock;
+import android.support.v7.app.AppCompatActivity;
+import android.support.v7.widget.LinearLayoutManager;
+import android.support.v7.widget.RecyclerView;
+import android.view.Choreographer;
+import android.view.LayoutInflater;
+import android.view.MotionEvent;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.CheckBox;
+import android.widget.CompoundButton;
+import android.widget.TextView;
+
+import com.postmates.widget.centersliderview.CenterSliderView;
+import com.postmates.widget.centersliderview.ValueDomain;
+
+import java.util.Random;
+
+/**
+ * Reference workload for profiling the slider: hundreds of sliders in a RecyclerView with
+ * varied configurations, optional auto-scrolling and scripted drags, and an overlay with
+ * jank, frame time and heap churn.
+ */
+public class StressActivity extends AppCompatActivity implements Choreographer.FrameCallback {
+
+    static final int ROW_COUNT = 500;
+    static final int SCROLL_PX_PER_FRAME = 12;
+    static final int DRAG_FRAMES = 30;
+    static final int FRAMES_BETWEEN_DRAGS = 45;
+
+    // shared between all rows, SliderInfo is immutable
+    static final CenterSliderView.SliderInfo[] CONFIGS = createConfigs();
+
+    RecyclerView recyclerView;
+    CheckBox autoScrollCheckBox;
+    CheckBox scriptedDragCheckBox;
+    FrameStatsOverlay statsOverlay;
+
+    boolean running;
+    int scrollDirection = 1;
+
+    // scripted drag state
+    final Random random = new Random(42); // fixed seed, so runs are comparable
+    final Rect draggerBounds = new Rect();
+    CenterSliderView dragTarget;
+    long dragDownTime;
+    float dragStartX, dragEndX, dragY;
+    int dragFrame;
+    int framesUntilDrag = FRAMES_BETWEEN_DRAGS;
+
+    static CenterSliderView.SliderInfo[] createConfigs() {
+        long nowEpochMinutes = System.currentTimeMillis() / 60_000;
+        return new CenterSliderView.SliderInfo[]{
+                new CenterSliderView.SliderInfo.Builder()
+                        .setBounds(0, 20)
+                        .setIntervalsToEdge(6)
+                        .setLargeTickInterval(5)
+                        .setStartValue(9)
+                        .setValueTextOverride(9, "Predicted")
+                        .build(),
+                new CenterSliderView.SliderInfo.Builder()
+                        .setBounds(0, 240)
+                        .setIntervalsToEdge(15)
+                        .setLargeTickInterval(15)
+                        .setStartValue(30)
+                        .setValueDomain(ValueDomain.of(nowEpochMinutes, 1))
+                        .build(),
+                new CenterSliderView.SliderInfo.Builder()
+                        .setBounds(0, 80)
+                        .setIntervalsToEdge(8)
+                        .setLargeTickInterval(4)
+                        .setStartValue(8)
+                        .setValueDomain(ValueDomain.fixedPoint(0, 25, 2))
+                        .build(),
+                new CenterSliderView.SliderInfo.Builder()
+                        .setBounds(0, 10_000)
+                        .setIntervalsToEdge(30)
+                        .setLargeTickInterval(10)
+                        .setStartValue(5_000)
+                        .build(),
+                new CenterSliderView.SliderInfo.Builder()
+                        .setBounds(-60, 60)
+                        .setIntervalsToEdge(3)
+                        .setLargeTickInterval(2)
+                        .setStartValue(0)
+                        .setValueTextOverride(0, "Now")
+                        .build(),
+                new CenterSliderView.SliderInfo.Builder()
+                        .setBounds(0, 1440)
+                        .setIntervalsToEdge(60)
+                        .setLargeTickInterval(30)
+                        .setStartValue(720)
+                        .build(),
+        };
+    }
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        setContentView(R.layout.activity_stress);
+
+        recyclerView = findViewById(R.id.stress_recycler_view);
+        recyclerView.setLayoutManager(new LinearLayoutManager(this));
+        recyclerView.setAdapter(new SliderAdapter());
+
+        autoScrollCheckBox = findViewById(R.id.auto_scroll_check_box);
+        scriptedDragCheckBox = findViewById(R.id.scripted_drag_check_box);
+        scriptedDragCheckBox.setOnCheckedChangeListener(new CompoundButton.OnCheckedChangeListener() {
+            @Override
+            public void onCheckedChanged(CompoundButton buttonView, boolean isChecked) {
+                if (!isChecked) {
+                    finishDrag();
+                }
+            }
+        });
+
+        TextView statsText = findViewById(R.id.stats_text);
+        statsOverlay = new FrameStatsOverlay(getWindow(), statsText);
+    }
+
+    @Override
+    protected void onResume() {
+        super.onResume();
+        running = true;
+        statsOverlay.start();
+        Choreographer.getInstance().postFrameCallback(this);
+    }
+
+    @Override
+    protected void onPause() {
+        super.onPause();
+        running = false;
+        finishDrag();
+        statsOverlay.stop();
+        Choreographer.getInstance().removeFrameCallback(this);
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        if (!running) {
+            return;
+        }
+
+        if (autoScrollCheckBox.isChecked()) {
+            if (!recyclerView.canScrollVertically(scrollDirection)) {
+                scrollDirection = -scrollDirection;
+            }
+            recyclerView.scrollBy(0, scrollDirection * SCROLL_PX_PER_FRAME);
+        }
+
+        if (scriptedDragCheckBox.isChecked()) {
+            stepDrag();
+        }
+        Choreographer.getInstance().postFrameCallback(this);
+    }
+
+    /**
+     * Every so often, drags the dragger of the slider in the middle of the screen a random
+     * number of ticks in either direction over {@link #DRAG_FRAMES} frames.
+     */
+    private void stepDrag() {
+        if (dragTarget == null) {
+            if (--framesUntilDrag > 0) {
+                return;
+            }
+            framesUntilDrag = FRAMES_BETWEEN_DRAGS;
+
+            View child = recyclerView.findChildViewUnder(recyclerView.getWidth() / 2, recyclerView.getHeight() / 2);
+            if (!(child instanceof CenterSliderView)) {
+                return;
+            }
+            dragTarget = (CenterSliderView) child;
+            dragTarget.getDraggerBounds(draggerBounds);
+            if (draggerBounds.isEmpty()) {
+                dragTarget = null;
+                return;
+            }
+
+            dragStartX = draggerBounds.centerX();
+            dragY = draggerBounds.centerY();
+            // up to 40% of the width in either direction
+            dragEndX = dragStartX + (random.nextFloat() - 0.5f) * 0.8f * dragTarget.getWidth();
+            dragFrame = 0;
+            dragDownTime = SystemClock.uptimeMillis();
+            dispatch(MotionEvent.ACTION_DOWN, dragStartX);
+            return;
+        }
+
+        dragFrame++;
+        if (dragFrame < DRAG_FRAMES) {
+            dispatch(MotionEvent.ACTION_MOVE, dragStartX + (dragEndX - dragStartX) * dragFrame / DRAG_FRAMES);
+        } else {
+            dispatch(MotionEvent.ACTION_UP, dragEndX);
+            dragTarget = null;
+        }
+    }
+
+    private void finishDrag() {
+        if (dragTarget != null) {
+            dispatch(MotionEvent.ACTION_UP, dragEndX);
+            dragTarget = null;
+        }
+    }
+
+    private void dispatch(int action, float x) {
+        MotionEvent event = MotionEvent.obtain(dragDownTime, SystemClock.uptimeMillis(), action, x, dragY, 0);
+        dragTarget.dispatchTouchEvent(event);
+        event.recycle();
+    }
+
+    static class SliderAdapter extends RecyclerView.Adapter<SliderViewHolder> {
+
+        @Override
+        public SliderViewHolder onCreateViewHolder(ViewGroup parent, int viewType) {
+            View view = LayoutInflater.from(parent.getContext()).inflate(R.layout.item_stress_slider, parent, false);
+            return new SliderViewHolder((CenterSliderView) view);
+        }
+
+        @Override
+        public void onBindViewHolder(SliderViewHolder holder, int position) {
+            holder.sliderView.setSliderInfo(CONFIGS[position % CONFIGS.length]);
+            // alternate fade modes so both paths get exercised
+            holder.sliderView.setFadeMode((position / CONFIGS.length) % 2 == 0 ?
+                    CenterSliderView.FadeMode.SHADER : CenterSliderView.FadeMode.ALPHA);
+        }
+
+        @Override
+        public int getItemCount() {
+            return ROW_COUNT;
+        }
+    }
+
+    static class SliderViewHolder extends RecyclerView.ViewHolder {
+        final CenterSliderView sliderView;
+
+        SliderViewHolder(CenterSliderView sliderView) {
+            super(sliderView);
+            this.sliderView = sliderView;
+        }
+    }
+}